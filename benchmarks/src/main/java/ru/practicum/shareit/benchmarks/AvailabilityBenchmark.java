@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.index.BookingInterval;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.AvailabilityGranularity;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+    private static final long ITEM_ID = 1L;
+    private static final int DAYS = 90;
+
+    @Param({"10", "1000"})
+    public int bookingCount;
+
+    private BookingIntervalIndex index;
+
+    @Setup
+    public void setUp() {
+        List<BookingInterval> intervals = new ArrayList<>(bookingCount);
+        for (int i = 0; i < bookingCount; i++) {
+            intervals.add(new BookingInterval(i + 1L, BenchmarkData.NOW.plusHours(5L * i),
+                    BenchmarkData.NOW.plusHours(5L * i + 3)));
+        }
+        // индексу нужен только findIntervalsByItemAndStatusInAndEndAfter, он вызывается один раз при загрузке вещи
+        BookingRepository repository = (BookingRepository) Proxy.newProxyInstance(
+                BookingRepository.class.getClassLoader(), new Class<?>[]{BookingRepository.class},
+                (proxy, method, args) -> intervals);
+        index = new BookingIntervalIndex(repository, new SimpleMeterRegistry(), 1_000);
+        index.overlaps(ITEM_ID, BenchmarkData.NOW, BenchmarkData.NOW);
+    }
+
+    @Benchmark
+    public ItemAvailabilityDto hourly90Days() {
+        int slots = DAYS * 24;
+        return ItemMapper.toItemAvailabilityDto(ITEM_ID, BenchmarkData.NOW, AvailabilityGranularity.HOUR, slots,
+                index.occupiedHours(ITEM_ID, BenchmarkData.NOW, slots));
+    }
+
+    @Benchmark
+    public ItemAvailabilityDto daily90Days() {
+        return ItemMapper.toItemAvailabilityDto(ITEM_ID, BenchmarkData.NOW, AvailabilityGranularity.DAY, DAYS,
+                index.occupiedDays(ITEM_ID, BenchmarkData.NOW.toLocalDate(), DAYS));
+    }
+}
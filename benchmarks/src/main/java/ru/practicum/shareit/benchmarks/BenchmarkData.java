@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@UtilityClass
+class BenchmarkData {
+    static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    User owner() {
+        return new User(1L, "Alena", "alena@gmail.com");
+    }
+
+    User booker() {
+        return new User(2L, "Nasty", "nasty@gmail.com");
+    }
+
+    Item item() {
+        return new Item(1L, "Дрель", "Аккумуляторная дрель", true, owner(), null);
+    }
+
+    List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(i + 1L, "Дрель " + i, "Аккумуляторная дрель", true, owner(), null));
+        }
+        return items;
+    }
+
+    BookingLastAndNextView lastAndNext(Item item, long bookingId, boolean past) {
+        return stub(BookingLastAndNextView.class, Map.of("getItemId", item.getId(), "getId", bookingId,
+                "getBookerId", booker().getId(), "getPast", past));
+    }
+
+    /**
+     * Заглушка интерфейса: метод возвращает значение из results по своему имени, остальные методы не поддержаны.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T stub(Class<T> type, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!results.containsKey(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return results.get(method.getName());
+        });
+    }
+
+    Booking booking(long id, Item item, LocalDateTime start) {
+        return new Booking(id, start, start.plusDays(1), item, booker(), Status.APPROVED, null);
+    }
+
+    List<Booking> bookings(Item item, int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(booking(i + 1, item, NOW.plusDays(count / 2 - i)));
+        }
+        return bookings;
+    }
+
+    List<Comment> comments(Item item, int count) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(new Comment((long) i + 1, "Отличная вещь " + i, item, booker(), NOW.minusDays(i)));
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemForBookingDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.services.ItemServiceImpl;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка ответа GET /items для владельца: группировка комментариев по вещам и раскладка last/next бронирований.
+ * Репозитории заменены заглушками, которые возвращают заранее подготовленные строки, поэтому БД не измеряется.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final int COMMENTS_PER_ITEM = 10;
+
+    @Param({"10", "100"})
+    public int itemCount;
+
+    private ItemServiceImpl itemService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        List<Item> items = BenchmarkData.items(itemCount);
+        List<Comment> comments = new ArrayList<>();
+        List<BookingLastAndNextView> lastAndNext = new ArrayList<>();
+        for (Item item : items) {
+            comments.addAll(BenchmarkData.comments(item, COMMENTS_PER_ITEM));
+            lastAndNext.add(BenchmarkData.lastAndNext(item, 2 * item.getId(), true));
+            lastAndNext.add(BenchmarkData.lastAndNext(item, 2 * item.getId() + 1, false));
+        }
+        ownerId = items.get(0).getOwner().getId();
+
+        ItemRepository itemRepository = BenchmarkData.stub(ItemRepository.class,
+                Map.of("findAllByOwnerIdOrderById", new PageImpl<>(items)));
+        BookingRepository bookingRepository = BenchmarkData.stub(BookingRepository.class,
+                Map.of("findLastAndNextByItemIdIn", lastAndNext));
+        CommentRepository commentRepository = BenchmarkData.stub(CommentRepository.class,
+                Map.of("findByItemIn", comments));
+        UserRepository userRepository = BenchmarkData.stub(UserRepository.class,
+                Map.of("findById", Optional.of(BenchmarkData.owner())));
+        UserCache userCache = new UserCache(userRepository, new SimpleMeterRegistry(), 1_000, Duration.ofHours(1));
+        itemService = new ItemServiceImpl(itemRepository, bookingRepository, commentRepository, null, null,
+                userCache, null);
+    }
+
+    @Benchmark
+    public List<ItemForBookingDto> getAllItemsUser() {
+        return itemService.getAllItemsUser(ownerId, 0, itemCount);
+    }
+}
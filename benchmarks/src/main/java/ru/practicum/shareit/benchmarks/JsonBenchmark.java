@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.ItemForBookingDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    /**
+     * Формат обмена gateway с сервером: json или cbor.
+     */
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectWriter itemWriter;
+    private ObjectWriter bookingListWriter;
+    private ItemForBookingDto item;
+    private List<BookingForResponse> bookings;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper("cbor".equals(format) ? new CBORFactory() : new JsonFactory())
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        itemWriter = mapper.writerFor(ItemForBookingDto.class);
+        bookingListWriter = mapper.writerFor(mapper.getTypeFactory()
+                .constructCollectionType(List.class, BookingForResponse.class));
+        Item model = BenchmarkData.item();
+        item = ItemMapper.toItemForBookingDto(model,
+                BookingMapper.toItemBookingLastAndNextDto(BenchmarkData.booking(1L, model, BenchmarkData.NOW)),
+                BookingMapper.toItemBookingLastAndNextDto(BenchmarkData.booking(2L, model, BenchmarkData.NOW)),
+                CommentMapper.toCommentDtoList(BenchmarkData.comments(model, 10)));
+        bookings = BenchmarkData.bookings(model, 20).stream()
+                .map(BookingMapper::toBookingForResponseMapper)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] itemForBookingDto() throws JsonProcessingException {
+        return itemWriter.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] bookingForResponsePage() throws JsonProcessingException {
+        return bookingListWriter.writeValueAsBytes(bookings);
+    }
+}
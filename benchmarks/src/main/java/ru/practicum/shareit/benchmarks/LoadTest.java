@@ -0,0 +1,173 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочный тест запущенного сервера: N клиентов без пауз чередуют чтение вещи владельцем
+ * и списка бронирований арендатором. Печатает пропускную способность и перцентили задержки.
+ * Для сравнения режимов сервер запускается дважды — с платформенными и с виртуальными потоками:
+ * <pre>
+ * java -jar server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar
+ * SHAREIT_VIRTUAL_THREADS=true java -jar server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar
+ * java -cp benchmarks/target/benchmarks.jar ru.practicum.shareit.benchmarks.LoadTest \
+ *         --url=http://localhost:9090 --clients=2000 --warmup=15 --duration=60
+ * </pre>
+ */
+public class LoadTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String url;
+
+    LoadTest(HttpClient client, String url) {
+        this.client = client;
+        this.url = url;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:9090");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "2000"));
+        int items = Integer.parseInt(options.getOrDefault("items", "50"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            LoadTest test = new LoadTest(client, url);
+            long[] ids = test.seed(items);
+            System.out.printf("Прогрев: %d клиентов, %d с%n", clients, warmup.toSeconds());
+            test.run(executor, clients, warmup, ids);
+            System.out.printf("Замер: %d клиентов, %d с%n", clients, duration.toSeconds());
+            test.run(executor, clients, duration, ids).print(duration);
+        }
+    }
+
+    /**
+     * Создаёт владельца, арендатора, вещи и по одному бронированию на каждую.
+     * Возвращает [владелец, арендатор, id вещей...].
+     */
+    long[] seed(int items) throws IOException, InterruptedException {
+        String suffix = Long.toString(System.nanoTime());
+        long owner = post("/users", null, "{\"name\":\"owner\",\"email\":\"owner" + suffix + "@load.ru\"}");
+        long booker = post("/users", null, "{\"name\":\"booker\",\"email\":\"booker" + suffix + "@load.ru\"}");
+        long[] ids = new long[items + 2];
+        ids[0] = owner;
+        ids[1] = booker;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < items; i++) {
+            long item = post("/items", owner, "{\"name\":\"Дрель " + i + "\",\"description\":\"Простая дрель\","
+                    + "\"available\":true}");
+            post("/bookings", booker, "{\"itemId\":" + item + ",\"start\":\"" + start + "\",\"end\":\""
+                    + start.plusDays(1) + "\"}");
+            ids[i + 2] = item;
+        }
+        return ids;
+    }
+
+    Result run(ExecutorService executor, int clients, Duration duration, long[] ids) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            int offset = c;
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int i = offset; System.nanoTime() < deadline; i++) {
+                    HttpRequest request = i % 2 == 0
+                            ? get("/items/" + ids[2 + i % (ids.length - 2)], ids[0])
+                            : get("/bookings?state=ALL&from=0&size=20", ids[1]);
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - begin;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        List<long[]> all = new ArrayList<>(clients);
+        for (Future<long[]> future : futures) {
+            all.add(future.get());
+        }
+        long[] merged = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(merged, errors.get());
+    }
+
+    private long post(String path, Long userId, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            builder.header(USER_HEADER, userId.toString());
+        }
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + ": " + response.statusCode() + " " + response.body());
+        }
+        return MAPPER.readTree(response.body()).get("id").asLong();
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(url + path))
+                .header(USER_HEADER, Long.toString(userId))
+                .GET()
+                .build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+
+    record Result(long[] latencies, long errors) {
+        void print(Duration duration) {
+            System.out.printf("Запросов: %d, ошибок: %d, пропускная способность: %.0f запр/с%n",
+                    latencies.length, errors, latencies.length / (double) duration.toSeconds());
+            System.out.printf("Задержка, мс: p50 %.1f, p99 %.1f, max %.1f%n",
+                    percentile(0.50), percentile(0.99), percentile(1.0));
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemForBookingDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Item item;
+    private User booker;
+    private Booking booking;
+    private BookingDtoRequest bookingDtoRequest;
+    private ItemDtoRequest itemDtoRequest;
+    private List<Comment> comments;
+    private BookingLastAndNextDto lastBooking;
+    private BookingLastAndNextDto nextBooking;
+    private List<CommentDtoResponse> commentDtos;
+
+    @Setup
+    public void setUp() {
+        item = BenchmarkData.item();
+        booker = BenchmarkData.booker();
+        booking = BenchmarkData.booking(1L, item, BenchmarkData.NOW);
+        bookingDtoRequest = new BookingDtoRequest(booking.getStart(), booking.getEnd(), item.getId());
+        itemDtoRequest = new ItemDtoRequest(null, item.getName(), item.getDescription(), true, null);
+        comments = BenchmarkData.comments(item, 10);
+        lastBooking = BookingMapper.toItemBookingLastAndNextDto(booking);
+        nextBooking = BookingMapper.toItemBookingLastAndNextDto(booking);
+        commentDtos = CommentMapper.toCommentDtoList(comments);
+    }
+
+    @Benchmark
+    public Booking bookingFromRequest() {
+        return BookingMapper.toBooking(bookingDtoRequest, item, booker);
+    }
+
+    @Benchmark
+    public BookingForResponse bookingForResponse() {
+        return BookingMapper.toBookingForResponseMapper(booking);
+    }
+
+    @Benchmark
+    public BookingLastAndNextDto bookingLastAndNext() {
+        return BookingMapper.toItemBookingLastAndNextDto(booking);
+    }
+
+    @Benchmark
+    public Item itemFromRequest() {
+        return ItemMapper.toItem(itemDtoRequest);
+    }
+
+    @Benchmark
+    public ItemDtoResponse itemDtoResponse() {
+        return ItemMapper.toItemDtoResponse(item);
+    }
+
+    @Benchmark
+    public ItemForBookingDto itemForBookingDto() {
+        return ItemMapper.toItemForBookingDto(item, lastBooking, nextBooking, commentDtos);
+    }
+
+    @Benchmark
+    public List<CommentDtoResponse> commentDtoList() {
+        return CommentMapper.toCommentDtoList(comments);
+    }
+}
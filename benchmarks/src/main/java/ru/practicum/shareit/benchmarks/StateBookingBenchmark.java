@@ -0,0 +1,22 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.model.StateBooking;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBookingBenchmark {
+    @Param({"ALL", "REJECTED"})
+    public String state;
+
+    @Benchmark
+    public StateBooking getStateFromText() {
+        return StateBooking.getStateFromText(state);
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -10,10 +13,13 @@ import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -23,6 +29,7 @@ public class BookingController {
     private final BookingClient bookingClient;
     static final String userHeader = "X-Sharer-User-Id";
     static final String path = "/{booking-id}";
+    static final int BATCH_MAX_SIZE = 500;
 
     @PostMapping
     public ResponseEntity<Object> addBooking(@RequestHeader(userHeader) long userId,
@@ -39,6 +46,14 @@ public class BookingController {
         return bookingClient.updateBooking(bookingId, ownerId, approved);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateBookings(@RequestHeader(userHeader) long ownerId,
+                                                 @RequestBody @NotEmpty @Size(max = BATCH_MAX_SIZE)
+                                                 List<@Valid BookingDecisionDto> decisions) {
+        log.info("PATCH запрос на обработку {} бронирований userId={}", decisions.size(), ownerId);
+        return bookingClient.updateBookings(ownerId, decisions);
+    }
+
     @GetMapping(path)
     public ResponseEntity<Object> getBooking(@RequestHeader(userHeader) long userId,
                                              @PathVariable("booking-id") Long bookingId) {
@@ -50,21 +65,54 @@ public class BookingController {
     public ResponseEntity<Object> getAllBookingByUser(@RequestHeader(userHeader) long userId,
                                                       @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "20") Integer size) {
+                                                      @Positive @RequestParam(name = "size", defaultValue = "20") Integer size,
+                                                      @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Неизвестный статус: " + stateParam));
-        log.info("GET запрос на получение всех бронирований state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("GET запрос на получение всех бронирований state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        if (cursor != null) {
+            checkNoOffset(from);
+            return bookingClient.getAllBookingByUser(userId, state, cursor, size);
+        }
         return bookingClient.getAllBookingByUser(userId, state, from, size);
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getBookingSummaryByUser(@RequestHeader(userHeader) long userId) {
+        log.info("GET запрос на получение количества бронирований по статусам userId={}", userId);
+        return bookingClient.getBookingSummaryByUser(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getBookingSummaryByOwner(@RequestHeader(userHeader) long userId) {
+        log.info("GET запрос на получение количества бронирований владельца по статусам userId={}", userId);
+        return bookingClient.getBookingSummaryByOwner(userId);
+    }
+
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllBookingsByOwner(@RequestParam(defaultValue = "ALL") String state,
                                                         @RequestHeader(userHeader) Long userId,
                                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                        @Positive @RequestParam(defaultValue = "20") Integer size) {
+                                                        @Positive @RequestParam(defaultValue = "20") Integer size,
+                                                        @RequestParam(required = false) String cursor) {
         BookingState stateParam = BookingState.from(state)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state));
-        log.info("GET запрос на получение бронирований владельца userId={},state {}, from={}, size={}", userId, state, from, size);
+        log.info("GET запрос на получение бронирований владельца userId={},state {}, from={}, size={}, cursor={}",
+                userId, state, from, size, cursor);
+        if (cursor != null) {
+            checkNoOffset(from);
+            return bookingClient.getAllBookingByOwner(userId, stateParam, cursor, size);
+        }
         return bookingClient.getAllBookingByOwner(userId, stateParam, from, size);
     }
+
+    /**
+     * Постраничный вывод по from и по курсору не смешиваются: страница по курсору не зависит от from.
+     */
+    private static void checkNoOffset(int from) {
+        if (from != 0) {
+            throw new ValidationException("Параметры cursor и from нельзя передавать вместе");
+        }
+    }
 }
@@ -5,14 +5,42 @@ import org.springframework.http.*;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, "X-Next-Cursor");
+
     protected final RestTemplate rest;
+    @Nullable
+    private final ResponseCache cache;
+    @Nullable
+    private final String route;
+    private final Collection<String> invalidatedRoutes;
+    @Nullable
+    private final ServerCallGuard guard;
+    private final WireFormat wireFormat;
+    private final SingleFlight<ResponseEntity<Object>> singleFlight = new SingleFlight<>();
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null, List.of(), null, WireFormat.JSON);
+    }
+
+    /**
+     * @param route             маршрут, под которым кэшируются GET-ответы клиента
+     * @param invalidatedRoutes маршруты, чьи закэшированные ответы устаревают после записи через клиент
+     * @param guard             ограничение одновременных вызовов и автомат маршрута
+     * @param wireFormat        формат тел запросов и ответов сервера
+     */
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache cache, @Nullable String route,
+                      Collection<String> invalidatedRoutes, @Nullable ServerCallGuard guard, WireFormat wireFormat) {
         this.rest = rest;
+        this.cache = cache;
+        this.route = route;
+        this.invalidatedRoutes = invalidatedRoutes;
+        this.guard = guard;
+        this.wireFormat = wireFormat;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -80,42 +108,103 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method != HttpMethod.GET) {
+            try {
+                return guardedRequest(method, path, userId, parameters, body);
+            } finally {
+                if (cache != null) {
+                    cache.invalidate(invalidatedRoutes);
+                }
+            }
+        }
+        String key = route + " " + rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of())
+                + "|" + userId;
+        boolean cacheable = cache != null && cache.isCacheable(route);
+        if (cacheable) {
+            ResponseEntity<Object> cached = cache.get(route, key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // одинаковые одновременные GET делят один запрос к серверу; поколение в ключе не даёт запросу,
+        // начатому после записи, присоединиться к вызову, начатому до неё
+        long generation = cache != null && route != null ? cache.generation(route) : 0;
+        return singleFlight.execute(key + "#" + generation, () -> {
+            ResponseEntity<Object> response = guardedRequest(method, path, userId, parameters, body);
+            if (cacheable) {
+                cache.put(route, key, generation, response);
+            }
+            return response;
+        });
+    }
+
+    private <T> ResponseEntity<Object> guardedRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (guard == null) {
+            return sendRequest(method, path, userId, parameters, body);
+        }
+        return guard.execute(() -> sendRequest(method, path, userId, parameters, body));
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray()));
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(wireFormat.mediaType());
+        headers.setAccept(wireFormat.accept());
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    /**
+     * Тело ответа сервера отдаётся клиенту как есть, без разбора в JSON и повторной сериализации.
+     * Ответ в CBOR перекодируется в JSON.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        HttpHeaders headers = passthroughHeaders(response.getHeaders());
+        byte[] body = response.getBody();
+        if (body != null && MediaType.APPLICATION_CBOR.isCompatibleWith(headers.getContentType())) {
+            body = WireFormat.cborToJson(body);
+            headers.setContentType(MediaType.APPLICATION_JSON);
         }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(headers);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
+
+    private static HttpHeaders passthroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders == null) {
+            return headers;
+        }
+        for (String name : PASSTHROUGH_HEADERS) {
+            List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        return headers;
+    }
 }
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * Автомат по последним вызовам маршрута. Если доля отказов среди них достигает порога, автомат размыкается
+ * и на open-duration отклоняет вызовы сразу. Затем он пропускает несколько пробных вызовов: если все они успешны,
+ * автомат замыкается, при первом отказе размыкается снова.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ResilienceProperties.CircuitBreaker settings;
+    private final Ticker ticker;
+    private final boolean[] window;
+    private int position;
+    private int calls;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    CircuitBreaker(ResilienceProperties.CircuitBreaker settings, Ticker ticker) {
+        this.settings = settings;
+        this.ticker = ticker;
+        this.window = new boolean[settings.getSlidingWindow()];
+    }
+
+    public synchronized boolean tryAcquire() {
+        return switch (currentState()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialPermits == 0) {
+                    yield false;
+                }
+                trialPermits--;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses >= settings.getHalfOpenCalls()) {
+                reset(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= settings.getMinimumCalls() && failures * 100 >= settings.getFailureRateThreshold() * calls) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return currentState();
+    }
+
+    /**
+     * Сколько ещё автомат будет разомкнут, для разомкнутого — иначе ноль.
+     */
+    public synchronized Duration retryAfter() {
+        if (currentState() != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(settings.getOpenDuration().toNanos() - (ticker.read() - openedAt));
+    }
+
+    public synchronized int failureRate() {
+        return calls == 0 ? 0 : failures * 100 / calls;
+    }
+
+    public synchronized int bufferedCalls() {
+        return calls;
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && ticker.read() - openedAt >= settings.getOpenDuration().toNanos()) {
+            reset(State.HALF_OPEN);
+            trialPermits = settings.getHalfOpenCalls();
+        }
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[position] = failed;
+        if (failed) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        reset(State.OPEN);
+        openedAt = ticker.read();
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        position = 0;
+        calls = 0;
+        failures = 0;
+        trialPermits = 0;
+        trialSuccesses = 0;
+    }
+}
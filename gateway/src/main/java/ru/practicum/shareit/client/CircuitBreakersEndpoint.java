@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Состояние автоматов и занятость ограничителей по маршрутам: /actuator/circuitbreakers.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+@RequiredArgsConstructor
+public class CircuitBreakersEndpoint {
+    private final ServerCallGuards guards;
+
+    @ReadOperation
+    public Map<String, ServerCallGuard.Snapshot> circuitBreakers() {
+        Map<String, ServerCallGuard.Snapshot> result = new LinkedHashMap<>();
+        guards.all().forEach((route, guard) -> result.put(route, guard.snapshot()));
+        return result;
+    }
+}
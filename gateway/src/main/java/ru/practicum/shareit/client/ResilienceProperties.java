@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки изоляции вызовов shareit-server по маршрутам клиентов: предел одновременных запросов
+ * и автомат, который при частых отказах сервера временно отклоняет вызовы.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    boolean enabled = true;
+    Bulkhead bulkhead = new Bulkhead();
+    CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Bulkhead {
+        int defaultMaxConcurrent = 25;
+        Map<String, Integer> maxConcurrent = new HashMap<>();
+        Duration maxWait = Duration.ofMillis(100);
+
+        public int maxConcurrent(String route) {
+            return maxConcurrent.getOrDefault(route, defaultMaxConcurrent);
+        }
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class CircuitBreaker {
+        int slidingWindow = 50;
+        int minimumCalls = 20;
+        int failureRateThreshold = 50;
+        Duration openDuration = Duration.ofSeconds(10);
+        int halfOpenCalls = 5;
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш успешных GET-ответов shareit-server в памяти gateway. Ключ — маршрут, путь с параметрами и X-Sharer-User-Id.
+ * Объём ограничен суммарным размером тел, время жизни задаётся по маршрутам. Запись через клиент увеличивает
+ * поколение зависимых маршрутов: ответы прошлых поколений, в том числе полученные параллельно с записью,
+ * больше не отдаются.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final boolean enabled;
+    private final Map<String, Duration> ttl;
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this(properties, registry, Ticker.systemTicker());
+    }
+
+    ResponseCache(ResponseCacheProperties properties, MeterRegistry registry, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.ttl = Map.copyOf(properties.getTtl());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse value) -> value.weight(key))
+                .expireAfter(new RouteExpiry())
+                .ticker(ticker)
+                .build();
+        this.hits = Counter.builder("shareit.gateway.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("shareit.gateway.cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("shareit.gateway.cache.hit.ratio", this, ResponseCache::hitRatio).register(registry);
+        Gauge.builder("shareit.gateway.cache.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("shareit.gateway.cache.entries", cache, Cache::estimatedSize).register(registry);
+    }
+
+    public boolean isCacheable(String route) {
+        return enabled && route != null && ttl.containsKey(route);
+    }
+
+    /**
+     * Поколение маршрута, которое нужно запомнить до отправки запроса и передать в {@link #put}.
+     */
+    public long generation(String route) {
+        return generations.computeIfAbsent(route, r -> new AtomicLong()).get();
+    }
+
+    public ResponseEntity<Object> get(String route, String key) {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.generation() != generation(route)) {
+            cache.invalidate(key);
+            cached = null;
+        }
+        (cached != null ? hits : misses).increment();
+        return cached != null ? cached.response() : null;
+    }
+
+    public void put(String route, String key, long generation, ResponseEntity<Object> response) {
+        if (response.getStatusCode() != HttpStatus.OK || !(response.getBody() instanceof byte[])
+                || generation != generation(route)) {
+            return;
+        }
+        cache.put(key, new CachedResponse(response, generation, ttl.get(route)));
+    }
+
+    public void invalidate(Collection<String> routes) {
+        routes.forEach(route -> generations.computeIfAbsent(route, r -> new AtomicLong()).incrementAndGet());
+    }
+
+    double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /**
+     * Сразу выполняет отложенное обслуживание кэша (учёт веса, удаление просроченных записей).
+     * Caffeine делает это асинхронно, метод нужен тестам, которые проверяют размер кэша.
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private record CachedResponse(ResponseEntity<Object> response, long generation, Duration ttl) {
+        int weight(String key) {
+            return ((byte[]) response.getBody()).length + 2 * key.length() + ENTRY_OVERHEAD;
+        }
+    }
+
+    private static class RouteExpiry implements Expiry<String, CachedResponse> {
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки кэша GET-ответов shareit-server: общий объём и время жизни по маршрутам (users, items, ...).
+ * Маршрут без TTL не кэшируется.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    boolean enabled = true;
+    DataSize maxSize = DataSize.ofMegabytes(64);
+    Map<String, Duration> ttl = new HashMap<>();
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Изоляция вызовов одного маршрута: не больше заданного числа одновременных запросов к серверу
+ * и автомат, который отклоняет вызовы, пока сервер отвечает ошибками. Отказом считается ответ 5xx
+ * или исключение, например истёкший таймаут.
+ */
+public class ServerCallGuard {
+    private final String route;
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+    private final Duration maxWait;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+
+    ServerCallGuard(String route, int maxConcurrent, Duration maxWait, CircuitBreaker circuitBreaker,
+                    Counter bulkheadRejections, Counter circuitRejections) {
+        this.route = route;
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWait = maxWait;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkheadRejections = bulkheadRejections;
+        this.circuitRejections = circuitRejections;
+    }
+
+    public ResponseEntity<Object> execute(Supplier<ResponseEntity<Object>> call) {
+        if (!acquireBulkhead()) {
+            bulkheadRejections.increment();
+            throw new ServerUnavailableException("Слишком много одновременных запросов к " + route, null);
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                circuitRejections.increment();
+                throw new ServerUnavailableException("Сервис " + route + " временно недоступен",
+                        circuitBreaker.retryAfter());
+            }
+            ResponseEntity<Object> response;
+            try {
+                response = call.get();
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+            if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return response;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(circuitBreaker.state(), circuitBreaker.failureRate(), circuitBreaker.bufferedCalls(),
+                bulkhead.availablePermits(), maxConcurrent);
+    }
+
+    int availableConcurrentCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public record Snapshot(CircuitBreaker.State state, int failureRate, int bufferedCalls,
+                           int availableConcurrentCalls, int maxConcurrentCalls) {
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отдельная {@link ServerCallGuard} на каждый маршрут клиента, чтобы медленный маршрут не занимал
+ * соединения и потоки остальных.
+ */
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ServerCallGuards {
+    private final ResilienceProperties properties;
+    private final MeterRegistry registry;
+    private final Ticker ticker;
+    private final Map<String, ServerCallGuard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServerCallGuards(ResilienceProperties properties, MeterRegistry registry) {
+        this(properties, registry, Ticker.systemTicker());
+    }
+
+    ServerCallGuards(ResilienceProperties properties, MeterRegistry registry, Ticker ticker) {
+        this.properties = properties;
+        this.registry = registry;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Изоляция маршрута или {@code null}, если она выключена.
+     */
+    public ServerCallGuard get(String route) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        return guards.computeIfAbsent(route, this::create);
+    }
+
+    public Map<String, ServerCallGuard> all() {
+        return new TreeMap<>(guards);
+    }
+
+    private ServerCallGuard create(String route) {
+        ServerCallGuard guard = new ServerCallGuard(route,
+                properties.getBulkhead().maxConcurrent(route),
+                properties.getBulkhead().getMaxWait(),
+                new CircuitBreaker(properties.getCircuitBreaker(), ticker),
+                rejections(route, "bulkhead-full"),
+                rejections(route, "circuit-open"));
+        Gauge.builder("shareit.gateway.circuit-breaker.state", guard, g -> g.circuitBreaker().state().ordinal())
+                .description("0 - closed, 1 - open, 2 - half-open")
+                .tag("route", route)
+                .register(registry);
+        Gauge.builder("shareit.gateway.bulkhead.available", guard, ServerCallGuard::availableConcurrentCalls)
+                .tag("route", route)
+                .register(registry);
+        return guard;
+    }
+
+    private Counter rejections(String route, String reason) {
+        return Counter.builder("shareit.gateway.server-calls.rejected")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки общего пула HTTP-соединений от gateway к shareit-server, таймауты, в том числе по маршрутам,
+ * и формат тел, которыми gateway обменивается с сервером.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ShareItServerHttpProperties {
+    int maxConnections = 200;
+    int maxConnectionsPerRoute = 100;
+    Duration connectTimeout = Duration.ofSeconds(2);
+    Duration responseTimeout = Duration.ofSeconds(10);
+    Map<String, Duration> routeResponseTimeout = new HashMap<>();
+    Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    Duration keepAlive = Duration.ofSeconds(30);
+    Duration idleEviction = Duration.ofSeconds(30);
+    WireFormat wireFormat = WireFormat.JSON;
+}
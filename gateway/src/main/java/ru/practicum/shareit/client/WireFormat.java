@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Формат тел запросов и ответов между gateway и shareit-server. Внешние клиенты всегда получают JSON:
+ * ответ в CBOR перекодируется потоково, без разбора в DTO.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Принимаемые типы ответа: JSON остаётся запасным на случай, если сервер не умеет CBOR.
+     */
+    public List<MediaType> accept() {
+        return this == JSON ? List.of(MediaType.APPLICATION_JSON) : List.of(mediaType, MediaType.APPLICATION_JSON);
+    }
+
+    static byte[] cborToJson(byte[] cbor) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(cbor.length * 2);
+        try (JsonParser parser = CBOR_FACTORY.createParser(cbor);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось перекодировать ответ сервера из CBOR в JSON", e);
+        }
+        return json.toByteArray();
+    }
+}
@@ -3,12 +3,16 @@ package ru.practicum.shareit.exception;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Slf4j
@@ -43,10 +47,39 @@ public class ErrorHandler {
         return Map.of("error", e.getMessage());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleTooManyRequestsException(final TooManyRequestsException e) {
+        log.debug("Получен статус 429 Too Many Requests {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfter()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleServerUnavailableException(final ServerUnavailableException e) {
+        log.debug("Получен статус 503 Service Unavailable {}", e.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (e.getRetryAfter() != null && !e.getRetryAfter().isZero()) {
+            response.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfter()));
+        }
+        return response.body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleResourceAccessException(final ResourceAccessException e) {
+        log.debug("Получен статус 503 Service Unavailable, сервер не ответил {}", e.getMessage(), e);
+        return Map.of("error", "Сервер не ответил вовремя");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleThrowableException(final Throwable e) {
         log.debug("Получен статус 500 Internal Server Error {}", e.getMessage(), e);
         return Map.of("error", e.getMessage());
     }
+
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
 }
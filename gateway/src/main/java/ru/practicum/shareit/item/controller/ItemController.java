@@ -1,20 +1,24 @@
 package ru.practicum.shareit.item.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.dto.AvailabilityGranularity;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.validation.Create;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 @Controller
@@ -77,4 +81,21 @@ public class ItemController {
         }
         return itemClient.getSearchOfText(userId, text, from, size);
     }
-}
\ No newline at end of file
+
+    @GetMapping(path + "/availability")
+    public ResponseEntity<Object> getAvailability(
+            @PathVariable("item-id") Long itemId,
+            @RequestHeader(userHeader) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") String granularity) {
+        AvailabilityGranularity unit = AvailabilityGranularity.from(granularity)
+                .orElseThrow(() -> new ValidationException("Неизвестная гранулярность: " + granularity));
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        log.info("GET запрос на получение занятости вещи itemId={}, userId={}, from={}, to={}, granularity={}",
+                itemId, userId, from, to, granularity);
+        return itemClient.getAvailability(userId, itemId, from, to, unit);
+    }
+}
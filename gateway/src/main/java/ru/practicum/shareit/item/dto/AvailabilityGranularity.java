@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum AvailabilityGranularity {
+    // По часам
+    HOUR,
+    // По дням
+    DAY;
+
+    public static Optional<AvailabilityGranularity> from(String text) {
+        for (AvailabilityGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(text)) {
+                return Optional.of(granularity);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.time.Duration;
+
+/**
+ * Пропускает запрос к маршрутам группы, только если в ведре клиента есть токен. Клиент определяется
+ * по X-Sharer-User-Id, а если заголовка нет — по адресу.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+    private final String group;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String userId = request.getHeader(USER_HEADER);
+        String client = userId != null ? "user:" + userId : "addr:" + request.getRemoteAddr();
+        Duration retryAfter = rateLimiter.acquire(group, client);
+        if (!retryAfter.isZero()) {
+            log.debug("Превышен лимит запросов группы {} для {}", group, client);
+            throw new TooManyRequestsException("Слишком много запросов, повторите позже", retryAfter);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Настройки ограничения частоты запросов: группы маршрутов с ёмкостью ведра и скоростью пополнения,
+ * а также предел числа вёдер в памяти и время, после которого неиспользуемое ведро удаляется.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    boolean enabled = true;
+    long maxBuckets = 100_000;
+    Duration idleTimeout = Duration.ofMinutes(10);
+    Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Group {
+        List<String> paths = new ArrayList<>();
+        long capacity = 20;
+        double refillPerSecond = 10;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ведра токенов по паре (группа маршрутов, клиент). Число вёдер ограничено, ведро, к которому долго не обращались,
+ * удаляется: к этому моменту оно всё равно успело бы наполниться, так что новое ведро ведёт себя так же.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+    private final Map<String, RateLimitProperties.Group> groups;
+    private final Map<String, Counter> rejected = new HashMap<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final Ticker ticker;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, Ticker.systemTicker());
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry registry, Ticker ticker) {
+        this.groups = Map.copyOf(properties.getGroups());
+        this.ticker = ticker;
+        long longestRefill = groups.values().stream()
+                .mapToLong(group -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond(), 0).refillNanos())
+                .max()
+                .orElse(0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(Duration.ofNanos(Math.max(properties.getIdleTimeout().toNanos(), longestRefill)))
+                .ticker(ticker)
+                .build();
+        groups.keySet().forEach(group -> rejected.put(group, Counter.builder("shareit.gateway.rate-limit.rejected")
+                .tag("group", group)
+                .register(registry)));
+        Gauge.builder("shareit.gateway.rate-limit.buckets", buckets, Cache::estimatedSize).register(registry);
+    }
+
+    /**
+     * Забирает токен из ведра клиента в группе. Возвращает {@link Duration#ZERO}, если запрос можно пропустить,
+     * иначе время до появления следующего токена.
+     */
+    public Duration acquire(String group, String client) {
+        RateLimitProperties.Group limit = groups.get(group);
+        long now = ticker.read();
+        TokenBucket bucket = buckets.get(group + "|" + client,
+                key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        long wait = bucket.tryAcquire(now);
+        if (wait == 0) {
+            return Duration.ZERO;
+        }
+        rejected.get(group).increment();
+        return Duration.ofNanos(wait);
+    }
+
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ведро токенов без блокировок. Вместо числа токенов хранится момент, когда ведро снова станет полным:
+ * каждый запрос сдвигает его на время пополнения одного токена, и запрос проходит, пока этот момент
+ * отстоит от текущего не больше чем на время пополнения всего ведра.
+ */
+class TokenBucket {
+    private final long interval;
+    private final long burst;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long capacity, double refillPerSecond, long now) {
+        this.interval = Math.max(1, Math.round(1_000_000_000 / refillPerSecond));
+        this.burst = capacity * interval;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Забирает токен. Возвращает 0, если токен получен, иначе через сколько наносекунд появится следующий.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - burst - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Время, за которое пустое ведро наполняется целиком.
+     */
+    long refillNanos() {
+        return burst;
+    }
+}
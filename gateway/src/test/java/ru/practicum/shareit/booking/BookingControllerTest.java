@@ -155,10 +155,78 @@ public class BookingControllerTest {
                 -1, 0);
     }
 
+    @SneakyThrows
+    @Test
+    void getAllBookingByCursorTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings?cursor={cursor}&size={size}", "abc", 5)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+        Mockito.verify(bookingClient).getAllBookingByUser(1, BookingState.ALL, "abc", 5);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner?cursor=")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+        Mockito.verify(bookingClient).getAllBookingByOwner(1L, BookingState.ALL, "", 20);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllBookingByCursorAndFromTest() {
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings?cursor={cursor}&from={from}", "abc", 2)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner?cursor={cursor}&from={from}", "abc", 2)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(bookingClient);
+    }
+
     BookingDtoRequest getBookingDtoRequest(LocalDateTime start, LocalDateTime end) {
         return new BookingDtoRequest(
                 start,
                 end, 1L
         );
     }
+
+    @Test
+    void getBookingSummaryTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 2))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient).getBookingSummaryByUser(1L);
+        Mockito.verify(bookingClient).getBookingSummaryByOwner(2L);
+    }
+
+    @Test
+    void updateBookingsTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"bookingId\":1,\"approved\":true},{\"bookingId\":2,\"approved\":false}]"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient).updateBookings(ArgumentMatchers.eq(1L), ArgumentMatchers.argThat(decisions ->
+                decisions.size() == 2 && decisions.get(0).getApproved() && !decisions.get(1).getApproved()));
+    }
+
+    @Test
+    void updateBookingsWrongTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"bookingId\":1}]"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookingClient, Mockito.never()).updateBookings(ArgumentMatchers.anyLong(),
+                ArgumentMatchers.any());
+    }
 }
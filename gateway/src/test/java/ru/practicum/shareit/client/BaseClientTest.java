@@ -0,0 +1,190 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = ShareItGateway.class)
+@DirtiesContext
+public class BaseClientTest {
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"Алёна\",\"email\":\"alena@gmail.com\"}";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    UserClient userClient;
+    @Autowired
+    BookingClient bookingClient;
+    @Autowired
+    ItemClient itemClient;
+    @Autowired
+    ResponseCache responseCache;
+
+    MockRestServiceServer userServer;
+    MockRestServiceServer bookingServer;
+    MockRestServiceServer itemServer;
+
+    @BeforeEach
+    void setUp() {
+        userServer = MockRestServiceServer.bindTo(userClient.rest).build();
+        bookingServer = MockRestServiceServer.bindTo(bookingClient.rest).build();
+        itemServer = MockRestServiceServer.bindTo(itemClient.rest).build();
+        responseCache.invalidate(List.of("users", "items", "requests"));
+    }
+
+    @Test
+    void successBodyIsPassedAsBytesTest() {
+        userServer.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON));
+
+        var response = userClient.getUser(1L);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertArrayEquals(USER_JSON.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void onlyRelevantHeadersArePassedTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "abc");
+        headers.set("X-Internal", "secret");
+        bookingServer.expect(requestTo("http://localhost:9090/bookings?state=ALL&cursor=first&size=10"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).headers(headers));
+
+        var response = bookingClient.getAllBookingByUser(1L, BookingState.ALL, "first", 10);
+
+        Assertions.assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        Assertions.assertNull(response.getHeaders().get("X-Internal"));
+    }
+
+    @Test
+    void errorStatusAndBodyArePassedTest() {
+        String error = "{\"error\":\"Пользователь не найден\"}";
+        userServer.expect(requestTo("http://localhost:9090/users/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        var response = userClient.getUser(99L);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void gatewayWritesServerBytesUnchangedTest() throws Exception {
+        userServer.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/users/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(content().bytes(USER_JSON.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void repeatedGetIsServedFromCacheTest() {
+        userServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON));
+
+        userClient.getUser(1L);
+        var cached = userClient.getUser(1L);
+
+        userServer.verify();
+        Assertions.assertArrayEquals(USER_JSON.getBytes(StandardCharsets.UTF_8), (byte[]) cached.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, cached.getHeaders().getContentType());
+    }
+
+    @Test
+    void cacheKeyIncludesSharerUserIdTest() {
+        itemServer.expect(ExpectedCount.twice(), requestTo("http://localhost:9090/items/5"))
+                .andRespond(withSuccess("{\"id\":5}", MediaType.APPLICATION_JSON));
+
+        itemClient.getItem(5L, 1L);
+        itemClient.getItem(5L, 2L);
+        itemClient.getItem(5L, 1L);
+
+        itemServer.verify();
+    }
+
+    @Test
+    void writeThroughClientEvictsDependentRoutesTest() {
+        itemServer.expect(ExpectedCount.twice(), requestTo("http://localhost:9090/items/5"))
+                .andRespond(withSuccess("{\"id\":5}", MediaType.APPLICATION_JSON));
+        bookingServer.expect(requestTo("http://localhost:9090/bookings"))
+                .andRespond(withSuccess("{\"id\":7}", MediaType.APPLICATION_JSON));
+
+        itemClient.getItem(5L, 1L);
+        bookingClient.addBooking(2L, new BookingDtoRequest());
+        itemClient.getItem(5L, 1L);
+
+        itemServer.verify();
+        bookingServer.verify();
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneServerCallTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        bookingServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/bookings/7"))
+                .andRespond(request -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess("{\"id\":7}", MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                responses.add(executor.submit(() -> bookingClient.getBooking(1L, 7L)));
+            }
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<ResponseEntity<Object>> response : responses) {
+                Assertions.assertEquals(HttpStatus.OK, response.get(5, TimeUnit.SECONDS).getStatusCode());
+            }
+        }
+        bookingServer.verify();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.net.URI;
+
+@SpringBootTest(classes = ShareItGateway.class, properties = {
+        "shareit-server.http.max-connections=64",
+        "shareit-server.http.max-connections-per-route=32"
+})
+public class HttpClientConfigTest {
+
+    @Autowired
+    PoolingHttpClientConnectionManager connectionManager;
+    @Autowired
+    ClientHttpRequestFactory requestFactory;
+    @Autowired
+    BookingClient bookingClient;
+    @Autowired
+    UserClient userClient;
+
+    @Test
+    void poolLimitsFromPropertiesTest() {
+        Assertions.assertEquals(64, connectionManager.getMaxTotal());
+        Assertions.assertEquals(32, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void clientsShareOneRequestFactoryTest() {
+        Assertions.assertSame(requestFactory, bookingClient.rest.getRequestFactory());
+        Assertions.assertSame(requestFactory, userClient.rest.getRequestFactory());
+    }
+
+    @Test
+    void routeIsFirstPathSegmentAfterServerUrlTest() {
+        Assertions.assertEquals("bookings", HttpClientConfig.route(URI.create("http://server:9090/bookings/owner?state=ALL"), ""));
+        Assertions.assertEquals("users", HttpClientConfig.route(URI.create("http://server/api/users"), "/api"));
+        Assertions.assertEquals("items", HttpClientConfig.route(URI.create("http://server:9090/items"), ""));
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.user.client.UserClient;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = ShareItGateway.class, properties = {
+        "shareit-server.resilience.circuit-breaker.minimum-calls=3",
+        "shareit-server.resilience.circuit-breaker.open-duration=30s"
+})
+@DirtiesContext
+public class ResilienceTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    BookingClient bookingClient;
+    @Autowired
+    UserClient userClient;
+
+    MockRestServiceServer bookingServer;
+    MockRestServiceServer userServer;
+
+    @BeforeEach
+    void setUp() {
+        bookingServer = MockRestServiceServer.bindTo(bookingClient.rest).build();
+        userServer = MockRestServiceServer.bindTo(userClient.rest).build();
+    }
+
+    @Test
+    void degradedRouteFailsFastWhileOthersWorkTest() throws Exception {
+        bookingServer.expect(ExpectedCount.times(3), requestTo("http://localhost:9090/bookings/1"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+        userServer.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess());
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 1))
+                    .andExpect(status().isInternalServerError());
+        }
+        mockMvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/circuitbreakers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings.state").value("OPEN"))
+                .andExpect(jsonPath("$.users.state").value("CLOSED"))
+                .andExpect(jsonPath("$.bookings.maxConcurrentCalls").value(40));
+        bookingServer.verify();
+        userServer.verify();
+    }
+}
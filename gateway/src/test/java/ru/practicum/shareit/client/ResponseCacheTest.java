@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxSize(DataSize.ofKilobytes(64));
+        properties.setTtl(Map.of("users", Duration.ofMinutes(5), "items", Duration.ofSeconds(30)));
+        cache = new ResponseCache(properties, registry, nanos::get);
+    }
+
+    @Test
+    void onlyRoutesWithTtlAreCacheableTest() {
+        assertTrue(cache.isCacheable("users"));
+        assertFalse(cache.isCacheable("bookings"));
+        assertFalse(cache.isCacheable(null));
+    }
+
+    @Test
+    void entriesExpireAfterRouteTtlTest() {
+        ResponseEntity<Object> user = ok("{\"id\":1}");
+        ResponseEntity<Object> item = ok("{\"id\":2}");
+        cache.put("users", "users /users/1|null", cache.generation("users"), user);
+        cache.put("items", "items /items/2|1", cache.generation("items"), item);
+
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertSame(user, cache.get("users", "users /users/1|null"));
+        assertNull(cache.get("items", "items /items/2|1"));
+    }
+
+    @Test
+    void invalidatedRouteIsNotServedTest() {
+        cache.put("users", "users /users/1|null", cache.generation("users"), ok("{\"id\":1}"));
+        cache.put("items", "items /items/2|1", cache.generation("items"), ok("{\"id\":2}"));
+
+        cache.invalidate(List.of("items"));
+
+        assertNull(cache.get("items", "items /items/2|1"));
+        assertTrue(cache.get("users", "users /users/1|null") != null);
+    }
+
+    @Test
+    void responseReadBeforeWriteIsNotStoredTest() {
+        long generation = cache.generation("items");
+        cache.invalidate(List.of("items"));
+
+        cache.put("items", "items /items/2|1", generation, ok("{\"id\":2}"));
+
+        assertNull(cache.get("items", "items /items/2|1"));
+    }
+
+    @Test
+    void onlySuccessfulResponsesAreStoredTest() {
+        cache.put("users", "users /users/9|null", cache.generation("users"),
+                ResponseEntity.status(HttpStatus.NOT_FOUND).body("{}".getBytes()));
+
+        assertNull(cache.get("users", "users /users/9|null"));
+    }
+
+    @Test
+    void hitRatioAndSizeAreExportedTest() {
+        cache.put("users", "users /users/1|null", cache.generation("users"), ok("{\"id\":1}"));
+        cache.get("users", "users /users/1|null");
+        cache.get("users", "users /users/1|null");
+        cache.get("users", "users /users/2|null");
+        cache.cleanUp();
+
+        assertEquals(2, registry.get("shareit.gateway.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("shareit.gateway.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(2.0 / 3, registry.get("shareit.gateway.cache.hit.ratio").gauge().value(), 1e-9);
+        assertTrue(registry.get("shareit.gateway.cache.size").gauge().value() > 0);
+        assertEquals(1, registry.get("shareit.gateway.cache.entries").gauge().value());
+    }
+
+    private static ResponseEntity<Object> ok(String body) {
+        return ResponseEntity.ok(body.getBytes());
+    }
+}
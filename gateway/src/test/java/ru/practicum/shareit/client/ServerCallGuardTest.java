@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerCallGuardTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ServerCallGuards guards;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getBulkhead().setMaxConcurrent(Map.of("bookings", 2));
+        properties.getBulkhead().setMaxWait(Duration.ZERO);
+        properties.getCircuitBreaker().setMinimumCalls(3);
+        guards = new ServerCallGuards(properties, registry, () -> 0L);
+    }
+
+    @Test
+    void bulkheadRejectsCallsOverLimitWithoutTouchingOtherRoutesTest() throws Exception {
+        ServerCallGuard bookings = guards.get("bookings");
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> bookings.execute(() -> {
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.ok().build();
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ServerUnavailableException.class, () -> bookings.execute(() -> ResponseEntity.ok().build()));
+            assertEquals(HttpStatus.OK, guards.get("users").execute(() -> ResponseEntity.ok().build()).getStatusCode());
+            release.countDown();
+        }
+
+        assertEquals(2, bookings.snapshot().availableConcurrentCalls());
+        assertEquals(1, registry.get("shareit.gateway.server-calls.rejected")
+                .tags("route", "bookings", "reason", "bulkhead-full").counter().count());
+    }
+
+    @Test
+    void serverErrorsAndTimeoutsOpenCircuitTest() {
+        ServerCallGuard items = guards.get("items");
+        AtomicInteger calls = new AtomicInteger();
+
+        items.execute(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        });
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> items.execute(() -> {
+                calls.incrementAndGet();
+                throw new ResourceAccessException("Read timed out");
+            }));
+        }
+        ServerUnavailableException e = assertThrows(ServerUnavailableException.class, () -> items.execute(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok().build();
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(Duration.ofSeconds(10), e.getRetryAfter());
+        assertEquals(CircuitBreaker.State.OPEN, items.snapshot().state());
+        assertEquals(1, registry.get("shareit.gateway.circuit-breaker.state").tag("route", "items").gauge().value());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuitTest() {
+        ServerCallGuard users = guards.get("users");
+
+        for (int i = 0; i < 5; i++) {
+            users.execute(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, users.snapshot().state());
+        assertEquals(0, users.snapshot().failureRate());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+    private static final int CALLERS = 50;
+
+    private final SingleFlight<Object> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsWithSameKeyShareOneResultTest() throws Exception {
+        Object result = new Object();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> futures = submit(CALLERS, "items /items/1|1", () -> {
+            await(release);
+            return result;
+        });
+        awaitFollowers();
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertSame(result, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void callsWithDifferentKeysAreNotCoalescedTest() {
+        singleFlight.execute("items /items/1|1", this::call);
+        singleFlight.execute("items /items/1|2", this::call);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void exceptionIsPassedToAllWaitersTest() throws Exception {
+        IllegalStateException failure = new IllegalStateException("сервер недоступен");
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> futures = submit(CALLERS, "items /items/1|1", () -> {
+            await(release);
+            throw failure;
+        });
+        awaitFollowers();
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void finishedCallIsNotReusedTest() {
+        singleFlight.execute("items /items/1|1", this::call);
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("items /items/1|1", () -> {
+            call();
+            throw new IllegalStateException();
+        }));
+        singleFlight.execute("items /items/1|1", this::call);
+
+        assertEquals(3, calls.get());
+    }
+
+    private List<Future<Object>> submit(int count, String key, Supplier<Object> supplier) {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute(key, () -> {
+                call();
+                return supplier.get();
+            })));
+        }
+        return futures;
+    }
+
+    /**
+     * Ждёт, пока первый вызов начнётся, и даёт остальным время присоединиться к нему.
+     */
+    private void awaitFollowers() throws InterruptedException {
+        while (calls.get() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(200);
+    }
+
+    private Object call() {
+        calls.incrementAndGet();
+        return new Object();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
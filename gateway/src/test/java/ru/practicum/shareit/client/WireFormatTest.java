@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class WireFormatTest {
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"Алёна\",\"email\":\"alena@gmail.com\"}";
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+    }
+
+    @Test
+    void requestBodyIsSentAsCborTest() {
+        server.expect(requestTo("http://localhost:9090/users"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE + ", "
+                        + MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(request -> Assertions.assertEquals(Map.of("name", "Алёна"), cborMapper.readValue(
+                        ((MockClientHttpRequest) request).getBodyAsBytes(), Map.class)))
+                .andRespond(withSuccess(cbor(USER_JSON), MediaType.APPLICATION_CBOR));
+
+        client.post("/users", Map.of("name", "Алёна"));
+
+        server.verify();
+    }
+
+    @Test
+    void cborResponseIsTranscodedToJsonTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "abc");
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess(cbor(USER_JSON), MediaType.APPLICATION_CBOR).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/users/1");
+
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        Assertions.assertEquals(USER_JSON, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cborErrorIsTranscodedToJsonTest() {
+        String error = "{\"error\":\"Пользователь не найден\"}";
+        server.expect(requestTo("http://localhost:9090/users/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_CBOR).body(cbor(error)));
+
+        ResponseEntity<Object> response = client.get("/users/99");
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals(error, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void jsonFallbackFromServerIsPassedAsIsTest() {
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = client.get("/users/1");
+
+        Assertions.assertArrayEquals(USER_JSON.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    private byte[] cbor(String json) {
+        try {
+            return cborMapper.writeValueAsBytes(jsonMapper.readTree(json));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest, null, null, List.of(), null, WireFormat.CBOR);
+        }
+    }
+}
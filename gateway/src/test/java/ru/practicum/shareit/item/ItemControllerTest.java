@@ -15,9 +15,11 @@ import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.shareit.ShareItGateway;
 import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.dto.AvailabilityGranularity;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -122,4 +124,30 @@ public class ItemControllerTest {
                 null
         );
     }
+
+    @Test
+    void getAvailability() throws Exception {
+        long itemId = 1L;
+        long userId = 2L;
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/{itemId}/availability", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-04-01T00:00:00")
+                        .param("granularity", "hour"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(itemClient).getAvailability(userId, itemId, LocalDateTime.of(2030, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 4, 1, 0, 0), AvailabilityGranularity.HOUR);
+    }
+
+    @Test
+    void getAvailabilityWithUnknownGranularity() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/{itemId}/availability", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("granularity", "WEEK"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemClient, Mockito.never()).getAvailability(ArgumentMatchers.anyLong(),
+                ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
 }
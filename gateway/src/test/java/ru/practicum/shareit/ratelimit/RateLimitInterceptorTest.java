@@ -0,0 +1,64 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.item.client.ItemClient;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = ShareItGateway.class, properties = {
+        "gateway.rate-limit.groups.search.capacity=2",
+        "gateway.rate-limit.groups.search.refill-per-second=0.1"})
+public class RateLimitInterceptorTest {
+    @Autowired
+    MockMvc mockMvc;
+    @MockBean
+    ItemClient itemClient;
+
+    @Test
+    void requestsOverLimitGetTooManyRequestsTest() throws Exception {
+        Mockito.when(itemClient.getSearchOfText(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt())).thenReturn(ResponseEntity.ok().build());
+
+        search(1L).andExpect(status().isOk());
+        search(1L).andExpect(status().isOk());
+        search(1L).andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.error").exists());
+        search(2L).andExpect(status().isOk());
+
+        Mockito.verify(itemClient, Mockito.times(3)).getSearchOfText(ArgumentMatchers.anyLong(),
+                ArgumentMatchers.anyString(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void routesOutsideGroupsAreNotLimitedTest() throws Exception {
+        Mockito.when(itemClient.getItem(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/items/1").header("X-Sharer-User-Id", 3L))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private ResultActions search(long userId) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/items/search")
+                .header("X-Sharer-User-Id", userId)
+                .param("text", "дрель"));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimiterTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Group bookings = new RateLimitProperties.Group();
+        bookings.setCapacity(5);
+        bookings.setRefillPerSecond(1);
+        RateLimitProperties.Group search = new RateLimitProperties.Group();
+        search.setCapacity(2);
+        search.setRefillPerSecond(10);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setGroups(Map.of("bookings", bookings, "search", search));
+        rateLimiter = new RateLimiter(properties, registry, nanos::get);
+    }
+
+    @Test
+    void burstUpToCapacityThenRejectedWithRetryAfterTest() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, rateLimiter.acquire("bookings", "user:1"));
+        }
+
+        assertEquals(Duration.ofSeconds(1), rateLimiter.acquire("bookings", "user:1"));
+        assertEquals(1, registry.get("shareit.gateway.rate-limit.rejected").tag("group", "bookings").counter().count());
+    }
+
+    @Test
+    void tokensAreRefilledOverTimeTest() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire("bookings", "user:1");
+        }
+
+        nanos.addAndGet(Duration.ofMillis(2500).toNanos());
+
+        assertEquals(Duration.ZERO, rateLimiter.acquire("bookings", "user:1"));
+        assertEquals(Duration.ZERO, rateLimiter.acquire("bookings", "user:1"));
+        assertEquals(Duration.ofMillis(500), rateLimiter.acquire("bookings", "user:1"));
+    }
+
+    @Test
+    void bucketsAreSeparatedByClientAndGroupTest() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire("bookings", "user:1");
+        }
+
+        assertEquals(Duration.ZERO, rateLimiter.acquire("bookings", "user:2"));
+        assertEquals(Duration.ZERO, rateLimiter.acquire("search", "user:1"));
+    }
+
+    @Test
+    void idleBucketsAreEvictedTest() {
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.acquire("search", "user:" + i);
+        }
+        assertEquals(100, registry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        rateLimiter.acquire("search", "user:new");
+        rateLimiter.cleanUp();
+
+        assertEquals(1, registry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacityTest() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Duration>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return rateLimiter.acquire("bookings", "user:1");
+                }));
+            }
+            start.countDown();
+        }
+
+        long allowed = 0;
+        for (Future<Duration> result : results) {
+            if (result.get().isZero()) {
+                allowed++;
+            }
+        }
+        assertEquals(5, allowed);
+    }
+}
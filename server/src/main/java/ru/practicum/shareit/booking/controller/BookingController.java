@@ -2,9 +2,14 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingSlice;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.services.BookingService;
 
 import java.util.List;
@@ -20,6 +25,7 @@ public class BookingController {
     private final BookingService service;
     static final String userHeader = "X-Sharer-User-Id";
     static final String path = "/{booking-id}";
+    static final String nextCursorHeader = "X-Next-Cursor";
 
     @PostMapping
     public BookingForResponse addBooking(@RequestHeader(userHeader) long userId,
@@ -35,6 +41,13 @@ public class BookingController {
         return service.updateBooking(bookingId, userId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> updateBookings(@RequestHeader(userHeader) long userId,
+                                                         @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("PATCH запрос на обработку {} бронирований owner с Id {}", decisions.size(), userId);
+        return service.updateBookings(userId, decisions);
+    }
+
     @GetMapping(path)
     public BookingForResponse getBooking(@PathVariable("booking-id") long bookingId, @RequestHeader(userHeader) long userId) {
         log.info("GET запрос на получение бронирования");
@@ -60,4 +73,46 @@ public class BookingController {
         log.info("GET запрос на получение бронирования  owner с Id {} со статусом {}", userId, state);
         return service.getAllBookingByOwner(state, userId, from, size);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getBookingSummaryByUser(@RequestHeader(userHeader) long userId) {
+        log.info("GET запрос на получение количества бронирований user с Id {} по статусам", userId);
+        return service.getBookingSummaryByUser(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getBookingSummaryByOwner(@RequestHeader(userHeader) long userId) {
+        log.info("GET запрос на получение количества бронирований owner с Id {} по статусам", userId);
+        return service.getBookingSummaryByOwner(userId);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingForResponse>> getBookingSliceByUser(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader(userHeader) long userId,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        log.info("GET запрос на получение списка бронирований user с Id {} со статусом {} после курсора {}",
+                userId, state, cursor);
+        return toResponse(service.getBookingSliceByUser(state, userId, cursor, size));
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingForResponse>> getBookingSliceByOwner(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader(userHeader) long userId,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        log.info("GET запрос на получение бронирований owner с Id {} со статусом {} после курсора {}",
+                userId, state, cursor);
+        return toResponse(service.getBookingSliceByOwner(state, userId, cursor, size));
+    }
+
+    private ResponseEntity<List<BookingForResponse>> toResponse(BookingSlice slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.getNextCursor() != null) {
+            response.header(nextCursorHeader, slice.getNextCursor());
+        }
+        return response.body(slice.getBookings());
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+public enum BookingDecisionOutcome {
+    // Подтверждено
+    APPROVED,
+    // Отклонено
+    REJECTED,
+    // Бронирование уже не в статусе WAITING
+    ALREADY_PROCESSED,
+    // Бронирование не найдено
+    NOT_FOUND,
+    // Пользователь не владелец вещи
+    NOT_OWNER
+}
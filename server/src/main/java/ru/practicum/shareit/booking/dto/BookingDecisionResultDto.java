@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Status;
+
+/**
+ * Результат решения по одному бронированию из пакета; status - статус бронирования после обработки.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingDecisionResultDto {
+    Long bookingId;
+    BookingDecisionOutcome outcome;
+    Status status;
+}
@@ -22,4 +22,12 @@ public class BookingForResponse {
     ItemWithBookingDto item;
     UserWithIdDto booker;
     Status status;
+
+    /**
+     * Конструктор для JPQL-проекции списков: только нужные ответу колонки, без загрузки сущностей.
+     */
+    public BookingForResponse(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName,
+                              Long bookerId, Status status) {
+        this(id, start, end, new ItemWithBookingDto(itemId, itemName), new UserWithIdDto(bookerId), status);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingItemView;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Переводит в CANCELED бронирования, которые так и остались WAITING после начала аренды.
+ * Строки обрабатываются пачками по id, каждая пачка в своей короткой транзакции,
+ * поэтому блокировки на bookings держатся не дольше одного UPDATE по batch-size строкам.
+ */
+@Slf4j
+@Component
+public class WaitingBookingSweeper {
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Timer runTimer;
+    private final DistributionSummary rowsPerRun;
+    private final Counter expired;
+
+    public WaitingBookingSweeper(BookingRepository bookingRepository, BookingIntervalIndex bookingIntervalIndex,
+                                 TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                 @Value("${shareit.booking.expiry.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.runTimer = Timer.builder("shareit.bookings.expiry.duration")
+                .description("Длительность одного прохода по просроченным бронированиям")
+                .register(meterRegistry);
+        this.rowsPerRun = DistributionSummary.builder("shareit.bookings.expiry.rows")
+                .description("Бронирований переведено в CANCELED за проход")
+                .register(meterRegistry);
+        this.expired = Counter.builder("shareit.bookings.expired")
+                .description("Всего бронирований переведено в CANCELED")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.interval:PT5M}",
+            initialDelayString = "${shareit.booking.expiry.interval:PT5M}")
+    public void scheduledSweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    /**
+     * Отменяет бронирования WAITING с началом раньше now и возвращает их количество.
+     */
+    public int sweep(LocalDateTime now) {
+        Timer.Sample sample = Timer.start();
+        int total = 0;
+        long lastId = 0;
+        int processed;
+        do {
+            long afterId = lastId;
+            Batch batch = transactionTemplate.execute(status -> expireBatch(now, afterId));
+            processed = batch.candidates();
+            lastId = batch.lastId();
+            total += batch.expired();
+        } while (processed == batchSize);
+        sample.stop(runTimer);
+        rowsPerRun.record(total);
+        expired.increment(total);
+        if (total > 0) {
+            log.info("Отменено просроченных бронирований WAITING: {}", total);
+        }
+        return total;
+    }
+
+    /**
+     * Строки, которые между выборкой и UPDATE успели подтвердить, отклонить или заблокировать, не трогаются:
+     * в CANCELED переводятся и из индекса удаляются только строки, заблокированные этой транзакцией в статусе WAITING.
+     */
+    private Batch expireBatch(LocalDateTime now, long afterId) {
+        List<BookingItemView> candidates = bookingRepository.findIdsByStatusAndStartBefore(Status.WAITING, now,
+                afterId, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return new Batch(0, afterId, 0);
+        }
+        List<BookingItemView> locked = bookingRepository.findIdsByIdInAndStatusForUpdate(
+                candidates.stream().map(BookingItemView::getId).collect(Collectors.toList()), Status.WAITING);
+        if (!locked.isEmpty()) {
+            bookingRepository.updateStatusByIdInAndStatus(
+                    locked.stream().map(BookingItemView::getId).collect(Collectors.toList()),
+                    Status.CANCELED, Status.WAITING);
+            locked.forEach(booking -> bookingIntervalIndex.remove(booking.getItemId(), booking.getId()));
+        }
+        return new Batch(candidates.size(), candidates.get(candidates.size() - 1).getId(), locked.size());
+    }
+
+    private record Batch(int candidates, long lastId, int expired) {
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingInterval {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+}
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.booking.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Индекс активных (WAITING/APPROVED) бронирований по вещам для проверки пересечений и календаря занятости
+ * без запроса в БД. Дерево интервалов вещи загружается из таблицы bookings при первом обращении,
+ * далее поддерживаются сервисом бронирований. Изменения внутри транзакции откатываются вместе с ней.
+ * Хранятся только незакончившиеся бронирования: новое бронирование не может начаться в прошлом,
+ * поэтому закончившиеся интервалы раз в час удаляются. Число вещей в индексе ограничено,
+ * вытесненная вещь загружается заново при следующем обращении.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemIntervals> items;
+    // число закоммиченных изменений индекса: загрузка, во время которой оно выросло, могла прочитать старые строки
+    private final AtomicLong commits = new AtomicLong();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository, MeterRegistry meterRegistry,
+                                @Value("${shareit.booking.index.maximum-size:10000}") long maximumSize) {
+        this.bookingRepository = bookingRepository;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "booking-intervals");
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervals(itemId);
+        synchronized (intervals) {
+            return intervals.tree.overlaps(start, end);
+        }
+    }
+
+    /**
+     * Занятость вещи по часам, начиная с часа from: бит i установлен, если занят час from + i.
+     * Считается по интервалам, пересекающим окно, поэтому стоимость зависит от окна, а не от длины броней.
+     */
+    public BitSet occupiedHours(long itemId, LocalDateTime from, int count) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        long first = hourIndex(start);
+        return occupied(itemId, start, start.plusHours(count), count,
+                interval -> hourIndex(interval.getStart()) - first,
+                interval -> hourIndex(interval.getEnd().minusNanos(1)) - first);
+    }
+
+    /**
+     * Занятость вещи по дням, начиная с дня from: бит i установлен, если занят хотя бы один час дня from + i.
+     */
+    public BitSet occupiedDays(long itemId, LocalDate from, int count) {
+        long first = from.toEpochDay();
+        return occupied(itemId, from.atStartOfDay(), from.plusDays(count).atStartOfDay(), count,
+                interval -> interval.getStart().toLocalDate().toEpochDay() - first,
+                interval -> interval.getEnd().minusNanos(1).toLocalDate().toEpochDay() - first);
+    }
+
+    public void add(long itemId, BookingInterval interval) {
+        put(itemId, interval);
+        TransactionHooks.onRollback(() -> delete(itemId, interval.getId()));
+        TransactionHooks.afterCommit(() -> committed(itemId, intervals -> intervals.add(interval)));
+    }
+
+    public void remove(long itemId, long bookingId) {
+        BookingInterval removed = delete(itemId, bookingId);
+        if (removed != null) {
+            TransactionHooks.onRollback(() -> put(itemId, removed));
+        }
+        TransactionHooks.afterCommit(() -> committed(itemId, intervals -> intervals.remove(bookingId)));
+    }
+
+    /**
+     * Очищает индекс сразу и ещё раз после коммита: до коммита другой запрос мог загрузить удаляемые строки.
+     */
+    public void invalidateAll() {
+        clear();
+        TransactionHooks.afterCommit(this::clear);
+    }
+
+    /**
+     * Отмечает слоты [firstSlot, lastSlot] каждого интервала, пересекающего окно [start, end), обрезая их по окну.
+     */
+    private BitSet occupied(long itemId, LocalDateTime start, LocalDateTime end, int count,
+                            ToLongFunction<BookingInterval> firstSlot, ToLongFunction<BookingInterval> lastSlot) {
+        ItemIntervals intervals = intervals(itemId);
+        BitSet result = new BitSet(count);
+        synchronized (intervals) {
+            intervals.tree.forEachOverlapping(start, end, interval -> {
+                if (interval.getEnd().isAfter(interval.getStart())) {
+                    result.set((int) Math.max(firstSlot.applyAsLong(interval), 0),
+                            (int) Math.min(lastSlot.applyAsLong(interval) + 1, count));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static long hourIndex(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay() * 24 + time.getHour();
+    }
+
+    private void clear() {
+        commits.incrementAndGet();
+        items.invalidateAll();
+    }
+
+    private ItemIntervals intervals(long itemId) {
+        ItemIntervals intervals = items.getIfPresent(itemId);
+        if (intervals == null) {
+            intervals = load(itemId);
+        }
+        synchronized (intervals) {
+            intervals.prune(LocalDateTime.now());
+        }
+        return intervals;
+    }
+
+    private void put(long itemId, BookingInterval interval) {
+        ItemIntervals intervals = intervals(itemId);
+        synchronized (intervals) {
+            intervals.add(interval);
+        }
+    }
+
+    private BookingInterval delete(long itemId, long bookingId) {
+        ItemIntervals intervals = items.getIfPresent(itemId);
+        if (intervals == null) {
+            return null;
+        }
+        synchronized (intervals) {
+            return intervals.remove(bookingId);
+        }
+    }
+
+    /**
+     * Повторяет изменение после коммита: другой запрос мог загрузить вещь до коммита (в том числе заново,
+     * после вытеснения) и прочитать строку в старом состоянии. Загрузки, которые шли во время коммита,
+     * в индексе не остаются.
+     */
+    private void committed(long itemId, Consumer<ItemIntervals> change) {
+        commits.incrementAndGet();
+        ItemIntervals intervals = items.getIfPresent(itemId);
+        if (intervals != null) {
+            synchronized (intervals) {
+                change.accept(intervals);
+            }
+        }
+    }
+
+    /**
+     * Загрузка из БД идёт вне Cache.get: иначе блокировка кэша удерживалась бы на время запроса
+     * и закрепляла виртуальный поток за несущим. При гонке в индексе остаётся первый загруженный экземпляр.
+     * Если за время загрузки закоммитилось изменение индекса, загруженный экземпляр нужен только текущему вызову.
+     */
+    private ItemIntervals load(long itemId) {
+        long version = commits.get();
+        LocalDateTime now = LocalDateTime.now();
+        ItemIntervals loaded = new ItemIntervals(now);
+        bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(itemId, ACTIVE_STATUSES, now)
+                .forEach(loaded::add);
+        log.debug("Загружен индекс бронирований вещи {}: {} интервалов", itemId, loaded.tree.size());
+        ItemIntervals cached = items.asMap().putIfAbsent(itemId, loaded);
+        if (cached != null) {
+            return cached;
+        }
+        if (commits.get() != version) {
+            items.asMap().remove(itemId, loaded);
+        }
+        return loaded;
+    }
+
+    private static class ItemIntervals {
+        final IntervalTree tree = new IntervalTree();
+        LocalDateTime prunedAt;
+
+        ItemIntervals(LocalDateTime prunedAt) {
+            this.prunedAt = prunedAt;
+        }
+
+        void add(BookingInterval interval) {
+            if (interval.equals(tree.get(interval.getId()))) {
+                return;
+            }
+            tree.add(interval);
+        }
+
+        BookingInterval remove(long bookingId) {
+            BookingInterval removed = tree.get(bookingId);
+            if (removed != null) {
+                tree.remove(bookingId);
+            }
+            return removed;
+        }
+
+        void prune(LocalDateTime now) {
+            if (now.isBefore(prunedAt.plus(PRUNE_INTERVAL))) {
+                return;
+            }
+            prunedAt = now;
+            tree.idsEndedBy(now).forEach(this::remove);
+        }
+    }
+}
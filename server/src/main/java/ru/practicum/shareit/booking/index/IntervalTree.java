@@ -0,0 +1,182 @@
+package ru.practicum.shareit.booking.index;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Treap по (start, id), где каждый узел хранит максимальный end своего поддерева.
+ * Интервалы полуоткрытые: [start, end).
+ */
+class IntervalTree {
+    private final Map<Long, BookingInterval> byId = new HashMap<>();
+    private Node root;
+
+    int size() {
+        return byId.size();
+    }
+
+    BookingInterval get(long bookingId) {
+        return byId.get(bookingId);
+    }
+
+    void add(BookingInterval interval) {
+        remove(interval.getId());
+        byId.put(interval.getId(), interval);
+        root = insert(root, new Node(interval));
+    }
+
+    boolean remove(long bookingId) {
+        BookingInterval interval = byId.remove(bookingId);
+        if (interval == null) {
+            return false;
+        }
+        root = delete(root, interval);
+        return true;
+    }
+
+    /**
+     * Идентификаторы интервалов, закончившихся не позже time.
+     */
+    List<Long> idsEndedBy(LocalDateTime time) {
+        return byId.values().stream()
+                .filter(interval -> !interval.getEnd().isAfter(time))
+                .map(BookingInterval::getId)
+                .collect(Collectors.toList());
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null && node.maxEnd.isAfter(start)) {
+            if (node.interval.getStart().isBefore(end) && node.interval.getEnd().isAfter(start)) {
+                return true;
+            }
+            if (node.left != null && node.left.maxEnd.isAfter(start)) {
+                node = node.left;
+            } else if (node.interval.getStart().isBefore(end)) {
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Передаёт action интервалы, пересекающие [start, end), в порядке начала.
+     */
+    void forEachOverlapping(LocalDateTime start, LocalDateTime end, Consumer<BookingInterval> action) {
+        forEachOverlapping(root, start, end, action);
+    }
+
+    private static void forEachOverlapping(Node node, LocalDateTime start, LocalDateTime end,
+                                           Consumer<BookingInterval> action) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        forEachOverlapping(node.left, start, end, action);
+        if (node.interval.getStart().isBefore(end)) {
+            if (node.interval.getEnd().isAfter(start)) {
+                action.accept(node.interval);
+            }
+            forEachOverlapping(node.right, start, end, action);
+        }
+    }
+
+    private static int compare(BookingInterval a, BookingInterval b) {
+        int result = a.getStart().compareTo(b.getStart());
+        return result != 0 ? result : Long.compare(a.getId(), b.getId());
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.interval, node.interval) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = delete(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, interval);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, interval);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, interval);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static final class Node {
+        final BookingInterval interval;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        LocalDateTime maxEnd;
+        Node left;
+        Node right;
+
+        Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+
+        void update() {
+            maxEnd = interval.getEnd();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ObjectConflictException;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Полосатые блокировки вещей на время бронирования: проверка пересечений и вставка брони
+ * выполняются под блокировкой, которая снимается только после завершения транзакции.
+ * Разные вещи могут попасть в одну полосу, это лишь снижает параллелизм.
+ */
+@Component
+public class ItemReservationLocks {
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public ItemReservationLocks(@Value("${shareit.booking.lock-stripes:256}") int stripeCount,
+                                @Value("${shareit.booking.lock-timeout:5s}") Duration timeout) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Блокирует вещь до конца текущей транзакции. Вне транзакции блокировка снимается сразу.
+     */
+    public void lockUntilCompletion(long itemId) {
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(itemId), stripes.length)];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ObjectConflictException("Вещь с ID " + itemId + " сейчас бронируется другим запросом");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ObjectConflictException("Бронирование вещи с ID " + itemId + " прервано");
+        }
+        TransactionHooks.afterCompletion(lock::unlock);
+    }
+}
@@ -5,6 +5,7 @@ import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingLastAndNextDto;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextView;
 import ru.practicum.shareit.booking.dto.BookingForResponse;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.item.model.Item;
@@ -48,4 +49,11 @@ public class BookingMapper {
                 .bookerId(booking.getBooker().getId())
                 .build();
     }
-}
\ No newline at end of file
+
+    public BookingLastAndNextDto toItemBookingLastAndNextDto(BookingLastAndNextView view) {
+        return BookingLastAndNextDto.builder()
+                .id(view.getId())
+                .bookerId(view.getBookerId())
+                .build();
+    }
+}
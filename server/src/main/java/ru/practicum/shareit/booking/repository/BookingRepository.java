@@ -1,22 +1,34 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingItemView;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextView;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.index.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByItemInAndStatus(
-            List<Item> items,
-            Status status,
-            Sort created);
+    @EntityGraph("Booking.withItem")
+    Optional<Booking> findWithItemById(Long bookingId);
 
     @Query
             ("select b from Booking b " +
@@ -24,6 +36,69 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findAllBookingsByItem(
             Long itemId);
 
+    @Query(value = "select t.item_id as \"itemId\", t.id as \"id\", t.booker_id as \"bookerId\", t.past as \"past\" " +
+            "from (select b.item_id, b.id, b.booker_id, " +
+            "case when b.start_date <= :now then true else false end as past, " +
+            "row_number() over (partition by b.item_id, case when b.start_date <= :now then 0 else 1 end " +
+            "order by case when b.start_date <= :now then b.start_date end desc, b.start_date) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) " +
+            "and b.state = :status) t " +
+            "where t.rn = 1", nativeQuery = true)
+    List<BookingLastAndNextView> findLastAndNextByItemIdIn(
+            @Param("itemIds") Collection<Long> itemIds, @Param("status") String status, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query
+            ("select b from Booking b " +
+                    "join fetch b.item " +
+                    "where b.id in ?1")
+    List<Booking> findAllByIdInForUpdate(
+            Collection<Long> bookingIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query
+            ("update Booking b " +
+                    "set b.status = ?2, b.version = b.version + 1 " +
+                    "where b.id in ?1 " +
+                    "and b.status = ?3")
+    int updateStatusByIdInAndStatus(
+            Collection<Long> bookingIds, Status status, Status expected);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query
+            ("update Booking b " +
+                    "set b.status = ?3, b.version = b.version + 1 " +
+                    "where b.id = ?1 " +
+                    "and b.status = ?4 " +
+                    "and b.item.id in (select i.id from Item i where i.owner.id = ?2)")
+    int updateStatusByIdAndOwnerAndStatus(
+            Long bookingId, Long ownerId, Status status, Status expected);
+
+    @Query
+            ("select b.id as id, b.item.id as itemId from Booking b " +
+                    "where b.status = ?1 " +
+                    "and b.start < ?2 " +
+                    "and b.id > ?3 " +
+                    "order by b.id")
+    List<BookingItemView> findIdsByStatusAndStartBefore(
+            Status status, LocalDateTime start, Long afterId, Pageable pageable);
+
+    /**
+     * Блокирует строки из bookingIds, которые всё ещё в статусе status.
+     * Строки, уже заблокированные другой транзакцией, пропускаются (SKIP LOCKED там, где диалект его поддерживает).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT,
+            value = "" + LockOptions.SKIP_LOCKED))
+    @Query
+            ("select b.id as id, b.item.id as itemId from Booking b " +
+                    "where b.id in ?1 " +
+                    "and b.status = ?2 " +
+                    "order by b.id")
+    List<BookingItemView> findIdsByIdInAndStatusForUpdate(
+            Collection<Long> bookingIds, Status status);
+
     @Query
             ("select new java.lang.Boolean(COUNT(b) > 0) from Booking b " +
                     "where (b.item.id = ?1 " +
@@ -35,116 +110,300 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             Long itemId, Long userId, Status status, LocalDateTime end);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.index.BookingInterval(b.id, b.start, b.end) " +
+                    "from Booking b " +
                     "where b.item.id = ?1 " +
-                    "and ?2 between b.start and b.end")
-    List<Booking> checkValidateBookings(
-            Long itemId, LocalDateTime bookingDtoStartIsBeforeOrAfter);
+                    "and b.status in ?2 " +
+                    "and b.end > ?3")
+    List<BookingInterval> findIntervalsByItemAndStatusInAndEndAfter(
+            Long itemId, Collection<Status> statuses, LocalDateTime now);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.booker.id = ?1 " +
                     "order by b.start DESC")
-    Page<Booking> findAllBookingsByBooker(
+    List<BookingForResponse> findAllBookingsByBooker(
             Long userId, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.booker.id = ?1 " +
                     "and ?2 between b.start and b.end " +
                     "order by b.start DESC")
-    Page<Booking> findAllCurrentBookingsByBooker(
+    List<BookingForResponse> findAllCurrentBookingsByBooker(
             Long userId, LocalDateTime now, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.booker.id = ?1 " +
                     "and ?2 > b.end " +
                     "and b.status = ?3 " +
                     "order by b.start DESC")
-    Page<Booking> findAllPastBookingsByBooker(
+    List<BookingForResponse> findAllPastBookingsByBooker(
             Long userId,
             LocalDateTime now, Status status, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.booker.id = ?1 " +
                     "and b.start > ?2 " +
                     "order by b.start DESC")
-    Page<Booking> findAllFutureBookingsByBooker(
+    List<BookingForResponse> findAllFutureBookingsByBooker(
             Long userId,
             LocalDateTime now, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.booker.id = ?1 " +
                     "and b.status = ?2 " +
                     "order by b.start DESC")
-    Page<Booking> findAllWaitingBookingsByBooker(
+    List<BookingForResponse> findAllWaitingBookingsByBooker(
             Long userId,
             Status status, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.booker.id = ?1 " +
-                    "and b.status = ?2 " +
-                    "or b.status = ?3 " +
+                    "and (b.status = ?2 " +
+                    "or b.status = ?3) " +
                     "order by b.start DESC")
-    Page<Booking> findAllBookingsByBooker(
+    List<BookingForResponse> findAllBookingsByBooker(
             Long userId,
             Status status, Status st, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.item.owner.id = ?1 " +
                     "order by b.start DESC")
-    Page<Booking> findAllBookingsByOwner(
+    List<BookingForResponse> findAllBookingsByOwner(
             Long userId, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.item.owner.id = ?1 " +
                     "and ?2 between b.start and b.end " +
                     "order by b.start DESC")
-    Page<Booking> findAllCurrentBookingsByOwner(
+    List<BookingForResponse> findAllCurrentBookingsByOwner(
             Long userId,
             LocalDateTime now, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.item.owner.id = ?1 " +
                     "and ?2 > b.end " +
                     "and b.status = ?3 " +
                     "order by b.start DESC")
-    Page<Booking> findAllPastBookingsByOwner(
+    List<BookingForResponse> findAllPastBookingsByOwner(
             Long userId,
             LocalDateTime now, Status status, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.item.owner.id = ?1 " +
                     "and b.start > ?2 " +
                     "order by b.start DESC")
-    Page<Booking> findAllFutureBookingsByOwner(
+    List<BookingForResponse> findAllFutureBookingsByOwner(
             Long userId,
             LocalDateTime now, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.item.owner.id = ?1 " +
                     "and b.status = ?2 " +
                     "order by b.start DESC")
-    Page<Booking> findAllWaitingBookingsByOwner(
+    List<BookingForResponse> findAllWaitingBookingsByOwner(
             Long userId,
             Status status, Pageable pageable);
 
     @Query
-            ("select b from Booking b " +
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
                     "where b.item.owner.id = ?1 " +
-                    "and b.status = ?2 " +
-                    "or b.status = ?3 " +
+                    "and (b.status = ?2 " +
+                    "or b.status = ?3) " +
                     "order by b.start DESC")
-    Page<Booking> findAllBookingsByOwner(
+    List<BookingForResponse> findAllBookingsByOwner(
             Long userId,
             Status status, Status st, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.booker.id = ?1 " +
+                    "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllBookingsByBookerBefore(
+            Long userId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.booker.id = ?1 " +
+                    "and ?2 between b.start and b.end " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllCurrentBookingsByBookerBefore(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.booker.id = ?1 " +
+                    "and ?2 > b.end " +
+                    "and b.status = ?3 " +
+                    "and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllPastBookingsByBookerBefore(
+            Long userId, LocalDateTime now, Status status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.booker.id = ?1 " +
+                    "and b.start > ?2 " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllFutureBookingsByBookerBefore(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.booker.id = ?1 " +
+                    "and b.status = ?2 " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllBookingsByBookerAndStatusBefore(
+            Long userId, Status status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.booker.id = ?1 " +
+                    "and b.status in ?2 " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllBookingsByBookerAndStatusInBefore(
+            Long userId, Collection<Status> statuses, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.item.owner.id = ?1 " +
+                    "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllBookingsByOwnerBefore(
+            Long userId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.item.owner.id = ?1 " +
+                    "and ?2 between b.start and b.end " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllCurrentBookingsByOwnerBefore(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.item.owner.id = ?1 " +
+                    "and ?2 > b.end " +
+                    "and b.status = ?3 " +
+                    "and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllPastBookingsByOwnerBefore(
+            Long userId, LocalDateTime now, Status status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.item.owner.id = ?1 " +
+                    "and b.start > ?2 " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllFutureBookingsByOwnerBefore(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.item.owner.id = ?1 " +
+                    "and b.status = ?2 " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllBookingsByOwnerAndStatusBefore(
+            Long userId, Status status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingForResponse(" +
+                    "b.id, b.start, b.end, b.item.id, b.item.name, b.booker.id, b.status) " +
+                    "from Booking b " +
+                    "where b.item.owner.id = ?1 " +
+                    "and b.status in ?2 " +
+                    "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+                    "order by b.start DESC, b.id DESC")
+    Slice<BookingForResponse> findAllBookingsByOwnerAndStatusInBefore(
+            Long userId, Collection<Status> statuses, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingSummaryDto(" +
+                    "count(b), " +
+                    "coalesce(sum(case when ?2 between b.start and b.end then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when ?2 > b.end and b.status = ?3 then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when b.start > ?2 then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when b.status = ?4 then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when b.status in ?5 then 1 else 0 end), 0)) " +
+                    "from Booking b " +
+                    "where b.booker.id = ?1")
+    BookingSummaryDto countBookingsByBookerGroupedByState(
+            Long userId, LocalDateTime now, Status approved, Status waiting, Collection<Status> rejected);
+
+    @Query
+            ("select new ru.practicum.shareit.booking.dto.BookingSummaryDto(" +
+                    "count(b), " +
+                    "coalesce(sum(case when ?2 between b.start and b.end then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when ?2 > b.end and b.status = ?3 then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when b.start > ?2 then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when b.status = ?4 then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when b.status in ?5 then 1 else 0 end), 0)) " +
+                    "from Booking b " +
+                    "where b.item.owner.id = ?1")
+    BookingSummaryDto countBookingsByOwnerGroupedByState(
+            Long userId, LocalDateTime now, Status approved, Status waiting, Collection<Status> rejected);
+}
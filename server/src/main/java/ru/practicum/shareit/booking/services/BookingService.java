@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking.services;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingSlice;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 
 import java.util.List;
 
@@ -10,9 +14,19 @@ public interface BookingService {
 
     BookingForResponse updateBooking(long bookingId, long userId, Boolean approved);
 
+    List<BookingDecisionResultDto> updateBookings(long userId, List<BookingDecisionDto> decisions);
+
     BookingForResponse getBooking(long bookingId, long userId);
 
     List<BookingForResponse> getAllBookingByUser(String state, long userId, int from, int size);
 
     List<BookingForResponse> getAllBookingByOwner(String state, long userId, int from, int size);
+
+    BookingSlice getBookingSliceByUser(String state, long userId, String cursor, int size);
+
+    BookingSlice getBookingSliceByOwner(String state, long userId, String cursor, int size);
+
+    BookingSummaryDto getBookingSummaryByUser(long userId);
+
+    BookingSummaryDto getBookingSummaryByOwner(long userId);
 }
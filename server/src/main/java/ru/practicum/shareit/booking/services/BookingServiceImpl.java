@@ -1,37 +1,61 @@
 package ru.practicum.shareit.booking.services;
 
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.index.BookingInterval;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.lock.ItemReservationLocks;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StateBooking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingSlice;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ObjectConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
-    private final UserRepository userRepository;
+    static final String NO_OVERLAP_CONSTRAINT = "bookings_item_active_no_overlap";
+
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final UserCache userCache;
+    private final ItemReservationLocks itemReservationLocks;
+
+    @Value("${shareit.booking.batch-max-size:500}")
+    private int batchMaxSize;
 
     @Transactional
     @Override
@@ -41,6 +65,7 @@ public class BookingServiceImpl implements BookingService {
                         bookingDtoRequest.getItemId() + " не зарегистрирована!"));
 
         User user = checkUser(userId);
+        itemReservationLocks.lockUntilCompletion(item.getId());
         validateBooking(bookingDtoRequest, item, user);
         if (!item.getAvailable()) {
             throw new BadRequestException("Вещь не доступна для бронирования");
@@ -52,43 +77,106 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(Status.WAITING);
         booking.setItem(item);
         booking.setBooker(user);
-        Booking result = bookingRepository.save(booking);
+        Booking result;
+        try {
+            result = bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            // пересечение с бронью, созданной другим экземпляром сервера
+            log.warn("Бронирование вещи {} отклонено базой данных: {}", item.getId(), e.getMessage());
+            throw new ObjectConflictException("Вещь с name = " + item.getName()
+                    + " уже забронирована на это время.");
+        }
+        bookingIntervalIndex.add(item.getId(),
+                new BookingInterval(result.getId(), result.getStart(), result.getEnd()));
         return BookingMapper.toBookingForResponseMapper(result);
     }
 
     @Transactional
     @Override
     public BookingForResponse updateBooking(long bookingId, long userId, Boolean approved) {
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        // переход WAITING -> APPROVED/REJECTED одним условным UPDATE: из двух параллельных решений пройдёт одно
+        if (bookingRepository.updateStatusByIdAndOwnerAndStatus(bookingId, userId, status, Status.WAITING) == 0) {
+            throw rejectedTransition(bookingId, userId);
+        }
         Booking booking = checkBooking(bookingId);
-        Item item = booking.getItem();
-        if (item.getOwner().getId() != userId) {
-            throw new BadRequestException("Пользователь не является владельцем вещи " +
-                    "и не может подтвердить бронирование");
+        if (status == Status.REJECTED) {
+            bookingIntervalIndex.remove(booking.getItem().getId(), booking.getId());
         }
+        return BookingMapper.toBookingForResponseMapper(booking);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingDecisionResultDto> updateBookings(long userId, List<BookingDecisionDto> decisions) {
         checkUser(userId);
-        if (!booking.getStatus().equals(Status.WAITING)) {
-            throw new BadRequestException("Данное бронирование уже было обработано и имеет статус "
-                    + booking.getStatus());
+        if (decisions.size() > batchMaxSize) {
+            throw new BadRequestException("За один запрос можно обработать не больше " + batchMaxSize
+                    + " бронирований");
         }
-        if (approved) {
-            booking.setStatus(Status.APPROVED);
-        } else {
-            booking.setStatus(Status.REJECTED);
+        Map<Long, Boolean> approvals = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision.getBookingId() == null || decision.getApproved() == null) {
+                throw new BadRequestException("Для каждого бронирования нужно указать bookingId и approved");
+            }
+            if (approvals.put(decision.getBookingId(), decision.getApproved()) != null) {
+                throw new BadRequestException("Бронирование " + decision.getBookingId()
+                        + " указано несколько раз");
+            }
         }
-        return BookingMapper.toBookingForResponseMapper(booking);
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdInForUpdate(approvals.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Map<Long, BookingDecisionResultDto> results = new LinkedHashMap<>();
+        List<Long> approved = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        approvals.forEach((bookingId, approve) -> {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.put(bookingId, new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.NOT_FOUND,
+                        null));
+            } else if (booking.getItem().getOwner().getId() != userId) {
+                results.put(bookingId, new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.NOT_OWNER,
+                        null));
+            } else if (booking.getStatus() != Status.WAITING) {
+                results.put(bookingId, new BookingDecisionResultDto(bookingId,
+                        BookingDecisionOutcome.ALREADY_PROCESSED, booking.getStatus()));
+            } else if (approve) {
+                approved.add(bookingId);
+                results.put(bookingId, new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.APPROVED,
+                        Status.APPROVED));
+            } else {
+                rejected.add(bookingId);
+                results.put(bookingId, new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.REJECTED,
+                        Status.REJECTED));
+            }
+        });
+        // строки заблокированы выше, поэтому условие status = WAITING выполняется для всех отобранных id
+        if (!approved.isEmpty()) {
+            bookingRepository.updateStatusByIdInAndStatus(approved, Status.APPROVED, Status.WAITING);
+        }
+        if (!rejected.isEmpty()) {
+            bookingRepository.updateStatusByIdInAndStatus(rejected, Status.REJECTED, Status.WAITING);
+            rejected.forEach(bookingId -> bookingIntervalIndex.remove(bookings.get(bookingId).getItem().getId(),
+                    bookingId));
+        }
+        log.info("Пользователь {} обработал бронирования: подтверждено {}, отклонено {}, пропущено {}",
+                userId, approved.size(), rejected.size(), results.size() - approved.size() - rejected.size());
+        return new ArrayList<>(results.values());
     }
 
     @Transactional(readOnly = true)
     @Override
     public BookingForResponse getBooking(long bookingId, long userId) {
         checkUser(userId);
-        checkBooking(bookingId);
-        Booking booking = bookingRepository.findById(bookingId).filter(booking1 ->
-                booking1.getBooker().getId() == userId
-                        || booking1.getItem().getOwner().getId() == userId).orElseThrow(() ->
-                new ObjectNotFoundException("Пользователь не является владельцем вещи " +
-                        "и не может подтвердить бронирование"));
-        ;
+        Booking booking = checkBooking(bookingId);
+        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
+            throw new ObjectNotFoundException("Пользователь не является владельцем вещи " +
+                    "и не может подтвердить бронирование");
+        }
         return BookingMapper.toBookingForResponseMapper(booking);
     }
 
@@ -96,95 +184,193 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingForResponse> getAllBookingByUser(String state, long userId, int from, int size) {
         checkUser(userId);
+        checkSize(size);
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> result = new ArrayList<>();
+        List<BookingForResponse> result = new ArrayList<>();
         StateBooking stateBooking = StateBooking.getStateFromText(state);
         Pageable pageable = PageRequest.of(from / size, size);
 
         switch (stateBooking) {
             case ALL:
-                result = bookingRepository.findAllBookingsByBooker(userId, pageable).getContent();
+                result = bookingRepository.findAllBookingsByBooker(userId, pageable);
                 break;
             case CURRENT:
-                result = bookingRepository.findAllCurrentBookingsByBooker(userId, now, pageable).getContent();
+                result = bookingRepository.findAllCurrentBookingsByBooker(userId, now, pageable);
                 break;
             case PAST:
-                result = bookingRepository.findAllPastBookingsByBooker(userId, now, Status.APPROVED, pageable)
-                        .getContent();
+                result = bookingRepository.findAllPastBookingsByBooker(userId, now, Status.APPROVED, pageable);
                 break;
             case FUTURE:
-                result = bookingRepository.findAllFutureBookingsByBooker(userId, now, pageable).getContent();
+                result = bookingRepository.findAllFutureBookingsByBooker(userId, now, pageable);
                 break;
             case WAITING:
-                result = bookingRepository.findAllWaitingBookingsByBooker(userId, Status.WAITING, pageable)
-                        .getContent();
+                result = bookingRepository.findAllWaitingBookingsByBooker(userId, Status.WAITING, pageable);
                 break;
             case REJECTED:
                 result = bookingRepository.findAllBookingsByBooker(userId, Status.REJECTED, Status.CANCELED,
-                        pageable).getContent();
+                        pageable);
                 break;
         }
 
-        return result.stream().map(BookingMapper::toBookingForResponseMapper)
-                .collect(Collectors.toList());
+        return result;
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<BookingForResponse> getAllBookingByOwner(String state, long userId, int from, int size) {
         checkUser(userId);
+        checkSize(size);
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> result = new ArrayList<>();
+        List<BookingForResponse> result = new ArrayList<>();
         StateBooking stateBooking = StateBooking.getStateFromText(state);
         Pageable pageable = PageRequest.of(from / size, size);
 
         switch (stateBooking) {
             case ALL:
-                result = bookingRepository.findAllBookingsByOwner(userId, pageable).getContent();
+                result = bookingRepository.findAllBookingsByOwner(userId, pageable);
                 break;
             case CURRENT:
-                result = bookingRepository.findAllCurrentBookingsByOwner(userId, now, pageable).getContent();
+                result = bookingRepository.findAllCurrentBookingsByOwner(userId, now, pageable);
                 break;
             case PAST:
-                result = bookingRepository.findAllPastBookingsByOwner(userId, now, Status.APPROVED, pageable)
-                        .getContent();
+                result = bookingRepository.findAllPastBookingsByOwner(userId, now, Status.APPROVED, pageable);
                 break;
             case FUTURE:
-                result = bookingRepository.findAllFutureBookingsByOwner(userId, now, pageable).getContent();
+                result = bookingRepository.findAllFutureBookingsByOwner(userId, now, pageable);
                 break;
             case WAITING:
-                result = bookingRepository.findAllWaitingBookingsByOwner(userId, Status.WAITING, pageable)
-                        .getContent();
+                result = bookingRepository.findAllWaitingBookingsByOwner(userId, Status.WAITING, pageable);
                 break;
             case REJECTED:
                 result = bookingRepository.findAllBookingsByOwner(userId, Status.REJECTED,
-                        Status.CANCELED, pageable).getContent();
+                        Status.CANCELED, pageable);
                 break;
         }
 
-        return result.stream().map(BookingMapper::toBookingForResponseMapper)
-                .collect(Collectors.toList());
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSlice getBookingSliceByUser(String state, long userId, String cursor, int size) {
+        checkUser(userId);
+        checkSize(size);
+        LocalDateTime now = LocalDateTime.now();
+        StateBooking stateBooking = StateBooking.getStateFromText(state);
+        BookingCursor position = BookingCursor.decode(cursor);
+        LocalDateTime start = position.getStart();
+        Long id = position.getId();
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<BookingForResponse> result = switch (stateBooking) {
+            case ALL -> bookingRepository.findAllBookingsByBookerBefore(userId, start, id, pageable);
+            case CURRENT -> bookingRepository.findAllCurrentBookingsByBookerBefore(userId, now, start, id, pageable);
+            case PAST -> bookingRepository.findAllPastBookingsByBookerBefore(userId, now, Status.APPROVED,
+                    start, id, pageable);
+            case FUTURE -> bookingRepository.findAllFutureBookingsByBookerBefore(userId, now, start, id, pageable);
+            case WAITING -> bookingRepository.findAllBookingsByBookerAndStatusBefore(userId, Status.WAITING,
+                    start, id, pageable);
+            case REJECTED -> bookingRepository.findAllBookingsByBookerAndStatusInBefore(userId,
+                    List.of(Status.REJECTED, Status.CANCELED), start, id, pageable);
+        };
+        return toBookingSlice(result);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSlice getBookingSliceByOwner(String state, long userId, String cursor, int size) {
+        checkUser(userId);
+        checkSize(size);
+        LocalDateTime now = LocalDateTime.now();
+        StateBooking stateBooking = StateBooking.getStateFromText(state);
+        BookingCursor position = BookingCursor.decode(cursor);
+        LocalDateTime start = position.getStart();
+        Long id = position.getId();
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<BookingForResponse> result = switch (stateBooking) {
+            case ALL -> bookingRepository.findAllBookingsByOwnerBefore(userId, start, id, pageable);
+            case CURRENT -> bookingRepository.findAllCurrentBookingsByOwnerBefore(userId, now, start, id, pageable);
+            case PAST -> bookingRepository.findAllPastBookingsByOwnerBefore(userId, now, Status.APPROVED,
+                    start, id, pageable);
+            case FUTURE -> bookingRepository.findAllFutureBookingsByOwnerBefore(userId, now, start, id, pageable);
+            case WAITING -> bookingRepository.findAllBookingsByOwnerAndStatusBefore(userId, Status.WAITING,
+                    start, id, pageable);
+            case REJECTED -> bookingRepository.findAllBookingsByOwnerAndStatusInBefore(userId,
+                    List.of(Status.REJECTED, Status.CANCELED), start, id, pageable);
+        };
+        return toBookingSlice(result);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSummaryDto getBookingSummaryByUser(long userId) {
+        checkUser(userId);
+        return bookingRepository.countBookingsByBookerGroupedByState(userId, LocalDateTime.now(), Status.APPROVED,
+                Status.WAITING, List.of(Status.REJECTED, Status.CANCELED));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSummaryDto getBookingSummaryByOwner(long userId) {
+        checkUser(userId);
+        return bookingRepository.countBookingsByOwnerGroupedByState(userId, LocalDateTime.now(), Status.APPROVED,
+                Status.WAITING, List.of(Status.REJECTED, Status.CANCELED));
+    }
+
+    private BookingSlice toBookingSlice(Slice<BookingForResponse> slice) {
+        List<BookingForResponse> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? BookingCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new BookingSlice(content, nextCursor);
+    }
+
+    /**
+     * Объясняет, почему условный UPDATE статуса не затронул ни одной строки.
+     */
+    private RuntimeException rejectedTransition(long bookingId, long userId) {
+        Booking booking = checkBooking(bookingId);
+        if (booking.getItem().getOwner().getId() != userId) {
+            return new BadRequestException("Пользователь не является владельцем вещи " +
+                    "и не может подтвердить бронирование");
+        }
+        checkUser(userId);
+        if (booking.getStatus() != Status.WAITING) {
+            return new ObjectConflictException("Данное бронирование уже было обработано и имеет статус "
+                    + booking.getStatus());
+        }
+        return new ObjectConflictException("Бронирование с ID " + bookingId + " изменено параллельным запросом");
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            return NO_OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+        }
+        return e.getMessage() != null && e.getMessage().contains(NO_OVERLAP_CONSTRAINT);
+    }
+
+    private static void checkSize(int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Размер страницы должен быть больше нуля");
+        }
     }
 
     private User checkUser(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
+        return userCache.get(userId).orElseThrow(() ->
                 new ObjectNotFoundException("Пользователь с ID " +
                         userId + " не зарегистрирован!"));
     }
 
     private Booking checkBooking(long bookingId) {
-        return bookingRepository.findById(bookingId).orElseThrow(() ->
+        return bookingRepository.findWithItemById(bookingId).orElseThrow(() ->
                 new ObjectNotFoundException("Бронь с ID " +
                         bookingId + " не зарегистрирован!"));
     }
 
     public void validateBooking(BookingDtoRequest bookingDtoRequest, Item item, User booker) {
-        if (item.getOwner().equals(booker)) {
+        if (item.getOwner().getId().equals(booker.getId())) {
             throw new ObjectNotFoundException("Создать бронь на свою вещь нельзя.");
         }
-        List<Booking> bookings = bookingRepository.checkValidateBookings(item.getId(), bookingDtoRequest.getStart());
-        if (bookings != null && !bookings.isEmpty()) {
-            throw new BadRequestException("Найдено пересечение броней на эту вещь с name = "
+        if (bookingIntervalIndex.overlaps(item.getId(), bookingDtoRequest.getStart(), bookingDtoRequest.getEnd())) {
+            throw new ObjectConflictException("Найдено пересечение броней на эту вещь с name = "
                     + item.getName() + ".");
         }
     }
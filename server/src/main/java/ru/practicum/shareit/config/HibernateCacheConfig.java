@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * JCache-менеджер второго уровня кэша Hibernate. Регионы настраиваются в application.conf.
+ * У каждого контекста свой менеджер: Hibernate закрывает его вместе с SessionFactory,
+ * и общий на JVM менеджер сломал бы другие живые контексты (например, в тестах).
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jcacheManagerCustomizer() {
+        return properties -> {
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(URI.create("shareit:" + UUID.randomUUID()), getClass().getClassLoader());
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+}
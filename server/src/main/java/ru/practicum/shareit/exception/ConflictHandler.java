@@ -0,0 +1,25 @@
+package ru.practicum.shareit.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Потерянное обновление (@Version не совпал при flush/commit) возвращается клиенту как 409.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ConflictHandler {
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleOptimisticLockingFailure(final OptimisticLockingFailureException e) {
+        log.debug("Получен статус 409 Conflict {}", e.getMessage(), e);
+        return Map.of("error", "Данные изменены параллельным запросом, повторите операцию");
+    }
+}
@@ -2,10 +2,12 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.services.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -62,4 +64,16 @@ public class ItemController {
         log.info("GET запрос на получение всех вещей с текстом: {}", text);
         return service.getSearchOfText(text, from, size);
     }
-}
\ No newline at end of file
+
+    @GetMapping(path + "/availability")
+    public ItemAvailabilityDto getAvailability(
+            @RequestHeader(userHeader) long userId,
+            @PathVariable("item-id") long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") String granularity) {
+        log.info("GET запрос на получение занятости вещи с ID: {}, from={}, to={}, granularity={}",
+                itemId, from, to, granularity);
+        return service.getAvailability(userId, itemId, from, to, granularity);
+    }
+}
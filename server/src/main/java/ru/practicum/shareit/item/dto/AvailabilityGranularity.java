@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum AvailabilityGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    AvailabilityGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public static AvailabilityGranularity getFromText(String text) {
+        for (AvailabilityGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(text)) {
+                return granularity;
+            }
+        }
+        throw new BadRequestException("Неизвестная гранулярность: " + text);
+    }
+
+    public LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime floor = floor(time);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+
+    public LocalDateTime plus(LocalDateTime time, long slots) {
+        return time.plus(slots, unit);
+    }
+
+    public long slotsBetween(LocalDateTime from, LocalDateTime to) {
+        return unit.between(from, to);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Календарь занятости вещи: occupancy содержит по символу на интервал ('1' - занят, '0' - свободен),
+ * free - свободные промежутки, склеенные из соседних свободных интервалов.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemAvailabilityDto {
+    Long itemId;
+    LocalDateTime from;
+    LocalDateTime to;
+    AvailabilityGranularity granularity;
+    String occupancy;
+    List<AvailabilitySlotDto> free;
+}
@@ -5,6 +5,9 @@ import ru.practicum.shareit.booking.dto.BookingLastAndNextDto;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -66,4 +69,27 @@ public class ItemMapper {
     public List<ItemForItemRequestResponseDto> toItemForItemRequestsResponseDto(List<Item> item) {
         return item.stream().map(ItemMapper::toItemForItemRequestResponseDto).collect(Collectors.toList());
     }
+
+    public ItemAvailabilityDto toItemAvailabilityDto(long itemId, LocalDateTime from, AvailabilityGranularity granularity,
+                                                     int slots, BitSet occupied) {
+        StringBuilder occupancy = new StringBuilder(slots);
+        for (int i = 0; i < slots; i++) {
+            occupancy.append(occupied.get(i) ? '1' : '0');
+        }
+        List<AvailabilitySlotDto> free = new ArrayList<>();
+        for (int start = occupied.nextClearBit(0); start < slots; start = occupied.nextClearBit(start)) {
+            int next = occupied.nextSetBit(start);
+            int end = next < 0 || next > slots ? slots : next;
+            free.add(new AvailabilitySlotDto(granularity.plus(from, start), granularity.plus(from, end)));
+            start = end;
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(granularity.plus(from, slots))
+                .granularity(granularity)
+                .occupancy(occupancy.toString())
+                .free(free)
+                .build();
+    }
 }
@@ -1,25 +1,32 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemSearchOfTextDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Page<Item> findAllByOwnerIdOrderById(Long userId, Pageable pageable);
 
     @Query("select i from Item i " +
-            "where i.request.id = ?1")
-    List<Item> findAllByRequestId(Long requestId);
-
+            "where i.request.id in ?1")
     List<Item> findByRequestIdIn(List<Long> requestIds);
 
-    @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')) " +
-            "and i.available = true ")
-    Page<Item> findByNameOrDescription(String text, Pageable pageable);
+    @Query("select i.id from Item i " +
+            "left join i.request r " +
+            "where i.owner.id = ?1 " +
+            "or r.requester.id = ?1")
+    List<Long> findIdsByOwnerOrRequester(Long userId);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemSearchOfTextDto(i.id, i.name, i.description, i.available) " +
+            "from Item i")
+    List<ItemSearchOfTextDto> findAllForSearch();
 }
@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchOfTextDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по названию и описанию вещей.
+ * Кандидаты отбираются по триграммам запроса, затем проверяется вхождение подстроки
+ * (как в прежнем like '%text%'), недоступные вещи отбрасываются, результат ранжируется.
+ * Для запросов короче триграммы в индексе хранятся отдельные списки по всем подстрокам из одного и двух символов.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<ItemSearchOfTextDto> items = itemRepository.findAllForSearch();
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс вещей загружен: {} документов", items.size());
+    }
+
+    public void put(ItemSearchOfTextDto item) {
+        ItemSearchOfTextDto previous;
+        lock.writeLock().lock();
+        try {
+            previous = index(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TransactionHooks.onRollback(() -> {
+            lock.writeLock().lock();
+            try {
+                if (previous != null) {
+                    index(previous);
+                } else {
+                    unindex(item.getId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Удаляет вещи из индекса после коммита текущей транзакции.
+     */
+    public void remove(Collection<Long> itemIds) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                itemIds.forEach(this::unindex);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<ItemSearchOfTextDto> search(String text, int from, int size) {
+        String query = normalize(text);
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(query)) {
+                Document document = documents.get(id);
+                if (document.item.getAvailable()) {
+                    int score = document.score(query);
+                    if (score > 0) {
+                        matches.add(new Match(document.item, score));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::score).reversed()
+                        .thenComparing(match -> match.item().getId()))
+                .skip((long) from * size)
+                .limit(size)
+                .map(Match::item)
+                .toList();
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return postings.getOrDefault(query, Set.of());
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private ItemSearchOfTextDto index(ItemSearchOfTextDto item) {
+        ItemSearchOfTextDto previous = unindex(item.getId());
+        Document document = new Document(item);
+        documents.put(item.getId(), document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, k -> new HashSet<>()).add(item.getId());
+        }
+        return previous;
+    }
+
+    private ItemSearchOfTextDto unindex(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return null;
+        }
+        for (String gram : document.grams()) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        return document.item;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> grams(String text) {
+        return grams(text, GRAM);
+    }
+
+    /**
+     * Все подстроки длины length.
+     */
+    static Set<String> grams(String text, int length) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + length <= text.length(); i++) {
+            grams.add(text.substring(i, i + length));
+        }
+        return grams;
+    }
+
+    private record Match(ItemSearchOfTextDto item, int score) {
+    }
+
+    private static final class Document {
+        final ItemSearchOfTextDto item;
+        final String name;
+        final String description;
+
+        Document(ItemSearchOfTextDto item) {
+            this.item = item;
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+        }
+
+        /**
+         * Ключи документа в индексе: триграммы и все более короткие подстроки названия и описания.
+         */
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (int length = 1; length <= GRAM; length++) {
+                grams.addAll(ItemSearchIndex.grams(name, length));
+                grams.addAll(ItemSearchIndex.grams(description, length));
+            }
+            return grams;
+        }
+
+        int score(String query) {
+            return 2 * fieldScore(name, query) + fieldScore(description, query);
+        }
+
+        private static int fieldScore(String field, String query) {
+            int position = field.indexOf(query);
+            if (position < 0) {
+                return 0;
+            }
+            if (field.equals(query)) {
+                return 8;
+            }
+            boolean tokenStart = position == 0 || !Character.isLetterOrDigit(field.charAt(position - 1));
+            int after = position + query.length();
+            boolean tokenEnd = after == field.length() || !Character.isLetterOrDigit(field.charAt(after));
+            if (tokenStart && tokenEnd) {
+                return 4;
+            }
+            return tokenStart ? 2 : 1;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.services;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -19,4 +20,7 @@ public interface ItemService {
     List<ItemSearchOfTextDto> getSearchOfText(String text, int from, int size);
 
     CommentDtoResponse addComment(long itemId, long userId, CommentDtoRequest commentDtoRequest);
+
+    ItemAvailabilityDto getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to,
+                                        String granularity);
 }
@@ -6,9 +6,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.dto.BookingLastAndNextDto;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
@@ -21,12 +22,15 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,11 +41,16 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
-    private final UserRepository userRepository;
+    static final int DEFAULT_AVAILABILITY_DAYS = 30;
+    static final int MAX_AVAILABILITY_SLOTS = 366 * 24;
+
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final UserCache userCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Transactional
     @Override
@@ -56,6 +65,7 @@ public class ItemServiceImpl implements ItemService {
             addItem.setRequest(requester);
             requester.setItems(List.of(addItem));
         }
+        itemSearchIndex.put(ItemMapper.toItemSearchOfTextDto(addItem));
         return ItemMapper.toItemDtoResponse(addItem);
     }
 
@@ -76,6 +86,7 @@ public class ItemServiceImpl implements ItemService {
         if (itemDtoRequest.getAvailable() != null) {
             oldItem.setAvailable(itemDtoRequest.getAvailable());
         }
+        itemSearchIndex.put(ItemMapper.toItemSearchOfTextDto(oldItem));
         return ItemMapper.toItemDtoResponse(oldItem);
     }
 
@@ -100,9 +111,7 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return List.of();
         }
-        Pageable pageable = PageRequest.of(from, size, Sort.unsorted());
-        List<Item> itemList = itemRepository.findByNameOrDescription(text, pageable).getContent();
-        return itemList.stream().map(ItemMapper::toItemSearchOfTextDto).collect(toList());
+        return itemSearchIndex.search(text, from, size);
     }
 
     @Transactional
@@ -125,6 +134,29 @@ public class ItemServiceImpl implements ItemService {
                 comment.getAuthor().getName(), comment.getCreated());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ItemAvailabilityDto getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to,
+                                               String granularity) {
+        checkUser(userId);
+        checkItem(itemId);
+        AvailabilityGranularity unit = AvailabilityGranularity.getFromText(granularity);
+        LocalDateTime start = unit.floor(from != null ? from : LocalDateTime.now());
+        LocalDateTime end = to != null ? unit.ceil(to) : start.plusDays(DEFAULT_AVAILABILITY_DAYS);
+        long slots = unit.slotsBetween(start, end);
+        if (slots <= 0) {
+            throw new BadRequestException("Начало периода должно быть раньше его окончания");
+        }
+        if (slots > MAX_AVAILABILITY_SLOTS) {
+            throw new BadRequestException("Период слишком длинный: не больше " + MAX_AVAILABILITY_SLOTS
+                    + " интервалов");
+        }
+        BitSet occupied = unit == AvailabilityGranularity.HOUR
+                ? bookingIntervalIndex.occupiedHours(itemId, start, (int) slots)
+                : bookingIntervalIndex.occupiedDays(itemId, start.toLocalDate(), (int) slots);
+        return ItemMapper.toItemAvailabilityDto(itemId, start, unit, (int) slots, occupied);
+    }
+
     private Item checkItem(long itemId) {
         return itemRepository.findById(itemId).orElseThrow(() ->
                 new ObjectNotFoundException("Вещь с ID " +
@@ -132,50 +164,33 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private User checkUser(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
+        return userCache.get(userId).orElseThrow(() ->
                 new ObjectNotFoundException("Пользователь с ID " +
                         userId + " не зарегистрирован!"));
     }
 
     private List<ItemForBookingDto> fillWithBookingInfo(List<Item> items, Long userId) {
-        Map<Item, List<Comment>> comments = commentRepository.findByItemIn(
+        Map<Long, List<Comment>> comments = commentRepository.findByItemIn(
                         items, Sort.by(DESC, "created"))
                 .stream()
-                .collect(groupingBy(Comment::getItem, toList()));
-        Map<Item, List<Booking>> bookings = bookingRepository.findByItemInAndStatus(
-                        items,  Status.APPROVED, Sort.by(DESC, "start"))
-                .stream()
-                .collect(groupingBy(Booking::getItem, toList()));
-        LocalDateTime now = LocalDateTime.now();
-        return items.stream().map(item -> addBookingAndComment(item, userId, comments.getOrDefault(item, List.of()),
-                        bookings.getOrDefault(item, List.of()), now))
+                .collect(groupingBy(comment -> comment.getItem().getId(), toList()));
+        List<Long> ownItemIds = items.stream()
+                .filter(item -> item.getOwner().getId().equals(userId))
+                .map(Item::getId)
                 .collect(toList());
-    }
-
-    public ItemForBookingDto addBookingAndComment(Item item,
-                                                  Long userId,
-                                                  List<Comment> comments,
-                                                  List<Booking> bookings,
-                                                  LocalDateTime now) {
-        if (item.getOwner().getId().longValue() != userId.longValue()) {
-            return ItemMapper.toItemForBookingDto(item, null, null,
-                    CommentMapper.toCommentDtoList(comments));
+        Map<Long, BookingLastAndNextDto> lastBookings = new HashMap<>();
+        Map<Long, BookingLastAndNextDto> nextBookings = new HashMap<>();
+        if (!ownItemIds.isEmpty()) {
+            for (BookingLastAndNextView view : bookingRepository.findLastAndNextByItemIdIn(ownItemIds,
+                    Status.APPROVED.name(), LocalDateTime.now())) {
+                BookingLastAndNextDto dto = BookingMapper.toItemBookingLastAndNextDto(view);
+                (view.getPast() ? lastBookings : nextBookings).put(view.getItemId(), dto);
+            }
         }
-        Booking lastBooking = bookings.stream()
-                .filter(b -> !b.getStart().isAfter(now))
-                .findFirst()
-                .orElse(null);
-
-        Booking nextBooking = bookings.stream()
-                .filter(b -> b.getStart().isAfter(now))
-                .reduce((a, b) -> a.getStart().isBefore(b.getStart()) ? a : b)
-                .orElse(null);
-        BookingLastAndNextDto lastBookingDto = lastBooking != null ?
-                BookingMapper.toItemBookingLastAndNextDto(lastBooking) : null;
-        BookingLastAndNextDto nextBookingDto = nextBooking != null ?
-                BookingMapper.toItemBookingLastAndNextDto(nextBooking) : null;
-        return ItemMapper.toItemForBookingDto(item, lastBookingDto, nextBookingDto,
-                CommentMapper.toCommentDtoList(comments));
+        return items.stream().map(item -> ItemMapper.toItemForBookingDto(item,
+                        lastBookings.get(item.getId()), nextBookings.get(item.getId()),
+                        CommentMapper.toCommentDtoList(comments.getOrDefault(item.getId(), List.of()))))
+                .collect(toList());
     }
 
     private ItemRequest checkRequest(Long requestId) {
@@ -33,7 +33,7 @@ public class ItemRequestDtoMapper {
                 .created(itemRequest.getCreated())
                 .items(List.of())
                 .build();
-        if (!itemRequest.getItems().isEmpty()) {
+        if (itemRequest.getItems() != null && !itemRequest.getItems().isEmpty()) {
             itemRequestResponseDto.setItems(ItemMapper.toItemForItemRequestsResponseDto(itemRequest.getItems()));
         }
         return itemRequestResponseDto;
@@ -3,6 +3,8 @@ package ru.practicum.shareit.request.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -13,7 +15,10 @@ import java.util.List;
  * TODO Sprint add-item-requests.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "requests")
 @Table(name = "requests")
+@NamedEntityGraph(name = "ItemRequest.withRequester", attributeNodes = @NamedAttributeNode("requester"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -24,9 +29,9 @@ public class ItemRequest {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
     String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User requester;
     LocalDateTime created;
-    @OneToMany(mappedBy = "id", fetch = FetchType.EAGER)
+    @Transient
     List<Item> items;
 }
@@ -14,8 +14,8 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.mapper.ItemRequestDtoMapper;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
@@ -27,7 +27,7 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Transactional
     @Override
@@ -35,8 +35,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User user = cheсkUser(userId);
         ItemRequest itemRequest = ItemRequestDtoMapper.toItemRequest(itemRequestDto, user);
         ItemRequest addRequests = requestRepository.save(itemRequest);
-        List<Item> items = itemRepository.findAllByRequestId(addRequests.getId());
-        addRequests.setItems(items);
+        addRequests.setItems(Collections.emptyList());
         return ItemRequestDtoMapper.toItemRequestResponseDto(addRequests);
     }
 
@@ -45,16 +44,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestResponseDto> getItemRequestsByUserId(long userId) {
         cheсkUser(userId);
         List<ItemRequest> itemRequests = requestRepository.findItemRequestsByUserId(userId);
-        for (ItemRequest itemRequest : itemRequests) {
-            List<Item> items = itemRepository.findAllByRequestId(itemRequest.getId());
-            itemRequest.setItems(items);
-        }
+        addItems(itemRequests);
         return ItemRequestDtoMapper.toItemRequestsResponseDto(itemRequests);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ItemRequestResponseDto> getAllItemRequests(long userId, int from, int size) {
-        if (!userRepository.existsById(userId)) {
+        if (!userCache.exists(userId)) {
             throw new ObjectNotFoundException("Пользователь с ID " +
                     userId + " не зарегистрирован!");
         }
@@ -65,17 +62,23 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestDtoMapper.toItemRequestsResponseDto(itemRequests);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public ItemRequestResponseDto getItemRequest(long requestId, long userId) {
         cheсkUser(userId);
-        ItemRequest itemRequest = requestRepository.findById(requestId).orElseThrow(() ->
+        ItemRequest itemRequest = requestRepository.findWithRequesterById(requestId).orElseThrow(() ->
                 new ObjectNotFoundException("Запрос c ID " + requestId + " не найден"));
-        List<Item> items = itemRepository.findAllByRequestId(itemRequest.getId());
-        itemRequest.setItems(items);
+        addItems(List.of(itemRequest));
         return ItemRequestDtoMapper.toItemRequestResponseDto(itemRequest);
     }
 
+    /**
+     * Загружает вещи для всех запросов одним запросом к БД.
+     */
     private void addItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return;
+        }
         List<Long> requestId = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
         Map<Long, List<Item>> itemsByRequest = new HashMap<>();
         for (Item item : itemRepository.findByRequestIdIn(requestId)) {
@@ -88,7 +91,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private User cheсkUser(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
+        return userCache.get(userId).orElseThrow(() ->
                 new ObjectNotFoundException("Пользователь с id " +
                         userId + " не найден"));
     }
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш пользователей для проверок X-Sharer-User-Id в сервисах.
+ * Отсутствующие пользователи не кэшируются. Наружу отдаются копии, чтобы изменения
+ * сущности в одной транзакции не попадали в кэш.
+ */
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final Cache<Long, User> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                     @Value("${shareit.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.user-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<User> get(long userId) {
+        User user = cache.getIfPresent(userId);
+        if (user == null) {
+            user = load(userId);
+        }
+        return Optional.ofNullable(user).map(UserCache::copy);
+    }
+
+    public boolean exists(long userId) {
+        return get(userId).isPresent();
+    }
+
+    /**
+     * Удаляет пользователя из кэша сразу и ещё раз после завершения транзакции,
+     * чтобы параллельный запрос не вернул в кэш незакоммиченное состояние.
+     */
+    public void invalidate(long userId) {
+        evict(userId);
+        TransactionHooks.afterCompletion(() -> evict(userId));
+    }
+
+    private void evict(long userId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Запрос к БД идёт вне Cache.get: иначе блокировка кэша удерживалась бы на время запроса
+     * и закрепляла виртуальный поток за несущим. Если за время загрузки пользователя вытеснили,
+     * загруженная копия нужна только текущему вызову.
+     */
+    private User load(long userId) {
+        long version = invalidations.get();
+        // пользователь мог быть создан в этой же транзакции, при откате его нельзя оставлять в кэше
+        TransactionHooks.onRollback(() -> cache.invalidate(userId));
+        User loaded = userRepository.findById(userId).map(UserCache::copy).orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        User cached = cache.asMap().putIfAbsent(userId, loaded);
+        if (cached != null) {
+            return cached;
+        }
+        if (invalidations.get() != version) {
+            cache.asMap().remove(userId, loaded);
+        }
+        return loaded;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail());
+    }
+}
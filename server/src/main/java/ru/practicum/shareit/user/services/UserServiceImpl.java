@@ -1,16 +1,27 @@
 package ru.practicum.shareit.user.services;
 
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.TransactionHooks;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +30,11 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final UserCache userCache;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     @Transactional(readOnly = true)
@@ -57,12 +73,30 @@ public class UserServiceImpl implements UserService {
             oldUser.setName(userDto.getName());
         }
         User saveUser = userRepository.save(oldUser);
+        userCache.invalidate(id);
         return UserMapper.toUserDtoResponse(saveUser);
     }
 
     @Transactional
     @Override
     public void deleteUser(long id) {
+        // вместе с пользователем каскадом удаляются его вещи и вещи, добавленные в ответ на его запросы
+        List<Long> itemIds = itemRepository.findIdsByOwnerOrRequester(id);
         userRepository.deleteById(id);
+        userCache.invalidate(id);
+        bookingIntervalIndex.invalidateAll();
+        itemSearchIndex.remove(itemIds);
+        TransactionHooks.afterCommit(this::evictCascadedEntities);
+    }
+
+    /**
+     * Каскадное удаление выполняет БД, Hibernate о нём не знает: вещи и запросы остались бы во втором уровне кэша,
+     * а списки вещей владельца в кэше запросов.
+     */
+    private void evictCascadedEntities() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(ItemRequest.class);
+        cache.evictQueryRegions();
     }
 }
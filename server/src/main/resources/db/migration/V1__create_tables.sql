@@ -1,6 +1,4 @@
-DROP TABLE IF EXISTS users, requests, items, bookings, comments;
-
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
 name VARCHAR(255) NOT NULL,
 email VARCHAR(512) NOT NULL,
@@ -8,7 +6,7 @@ CONSTRAINT pk_user PRIMARY KEY (id),
 CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
-CREATE TABLE IF NOT EXISTS requests (
+CREATE TABLE requests (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
 description VARCHAR(512) NOT NULL,
 requester_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
@@ -16,7 +14,7 @@ created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 CONSTRAINT pk_requests PRIMARY KEY (id)
 );
 
-CREATE TABLE IF NOT EXISTS items (
+CREATE TABLE items (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
 name VARCHAR(255) NOT NULL,
 description VARCHAR(512) NOT NULL,
@@ -26,7 +24,7 @@ request_id BIGINT REFERENCES requests (id) ON DELETE CASCADE,
 CONSTRAINT pk_item PRIMARY KEY (id)
 );
 
-CREATE TABLE IF NOT EXISTS bookings (
+CREATE TABLE bookings (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
 start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -36,11 +34,11 @@ state varchar(150),
 CONSTRAINT pk_booking PRIMARY KEY (id)
 );
 
-CREATE TABLE IF NOT EXISTS comments (
+CREATE TABLE comments (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
 text VARCHAR(512) NOT NULL,
 item_id BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
 author_id  BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
 created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 CONSTRAINT pk_comment PRIMARY KEY (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,23 @@
+-- Booker lists: every BookingRepository ...ByBooker query filters by booker_id and sorts by start_date DESC, id DESC
+-- (keyset pagination continues from (start_date, id)).
+CREATE INDEX ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+-- Booker lists filtered by status (WAITING, REJECTED, PAST).
+CREATE INDEX ix_bookings_booker_state_start ON bookings (booker_id, state, start_date DESC, id DESC);
+
+-- Owner lists join items by owner_id and read each item's bookings in start_date order.
+CREATE INDEX ix_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+-- Per-item lookups by status: last/next booking, overlap intervals, comment eligibility.
+CREATE INDEX ix_bookings_item_state_start ON bookings (item_id, state, start_date);
+
+-- findAllByOwnerIdOrderById and the owner join of the owner booking lists.
+CREATE INDEX ix_items_owner ON items (owner_id, id);
+-- findByRequestIdIn / findAllByRequestId.
+CREATE INDEX ix_items_request ON items (request_id);
+
+-- findByItemIn(items) sorted by created DESC.
+CREATE INDEX ix_comments_item_created ON comments (item_id, created DESC);
+
+-- findItemRequestsByUserId: requester_id = :id order by created DESC.
+CREATE INDEX ix_requests_requester_created ON requests (requester_id, created DESC);
+-- findAllByNotRequesterId: requester_id <> :id order by created DESC, served by scanning in created order.
+CREATE INDEX ix_requests_created ON requests (created DESC);
@@ -0,0 +1,3 @@
+-- WaitingBookingSweeper: keyset iteration over WAITING bookings in id order (state = ? and id > ? order by id).
+-- V3 and V4 are PostgreSQL-only scripts in db/vendor/postgresql, so the shared numbering continues from V5.
+CREATE INDEX ix_bookings_state_id ON bookings (state, id);
@@ -0,0 +1,2 @@
+-- Optimistic locking of Booking (@Version). Status transitions bump it in the same UPDATE.
+ALTER TABLE bookings ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,130 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Gateway может обмениваться с сервером CBOR: тела запросов принимаются, ответы отдаются в CBOR
+ * с тем же содержимым, что и в JSON. Без Accept сервер по-прежнему отвечает JSON.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CborWireFormatTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private ObjectMapper jsonMapper;
+    @Autowired
+    private Jackson2ObjectMapperBuilder builder;
+    private ObjectMapper cborMapper;
+
+    @BeforeEach
+    void setUp() {
+        cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    @Test
+    void dtosTravelAsCborAndMatchJsonTest() throws Exception {
+        long ownerId = send(post("/users"), null,
+                Map.of("name", "Алёна", "email", "alena@cbor.ru")).get("id").asLong();
+        long bookerId = send(post("/users"), null,
+                Map.of("name", "Настя", "email", "nasty@cbor.ru")).get("id").asLong();
+        long requestId = send(post("/requests"), bookerId,
+                Map.of("description", "Нужна дрель")).get("id").asLong();
+        long itemId = send(post("/items"), ownerId, Map.of("name", "Дрель", "description", "Простая дрель",
+                "available", true, "requestId", requestId)).get("id").asLong();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        JsonNode booking = send(post("/bookings"), bookerId,
+                Map.of("itemId", itemId, "start", start, "end", start.plusDays(1)));
+
+        assertEquals(start.toString(), booking.get("start").asText());
+        assertEquals(itemId, booking.get("item").get("id").asLong());
+        assertSameInBothFormats(get("/users/{id}", ownerId), null);
+        assertSameInBothFormats(get("/items/{id}", itemId), ownerId);
+        assertSameInBothFormats(get("/requests/{id}", requestId), bookerId);
+        assertSameInBothFormats(get("/bookings/{id}", booking.get("id").asLong()), bookerId);
+        assertSameInBothFormats(get("/bookings/owner"), ownerId);
+    }
+
+    @Test
+    void errorsAreEncodedInRequestedFormatTest() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<byte[]> response = restTemplate.exchange("/users/999999", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        assertEquals(404, cborMapper.readTree(response.getBody()).get("status").asInt());
+    }
+
+    @Test
+    void jsonStaysDefaultWithoutAcceptTest() throws Exception {
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private JsonNode send(MockHttpServletRequestBuilder request, Long userId, Map<String, Object> body)
+            throws Exception {
+        if (userId != null) {
+            request.header(USER_HEADER, userId);
+        }
+        MvcResult result = mockMvc.perform(request
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(body)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        return cborMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    private void assertSameInBothFormats(MockHttpServletRequestBuilder request, Long userId) throws Exception {
+        if (userId != null) {
+            request.header(USER_HEADER, userId);
+        }
+        byte[] cbor = mockMvc.perform(request.accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(jsonMapper.readTree(json), cborMapper.readTree(cbor));
+    }
+
+}
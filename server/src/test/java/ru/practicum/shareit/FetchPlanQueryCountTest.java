@@ -0,0 +1,133 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.services.BookingService;
+import ru.practicum.shareit.item.dto.ItemForBookingDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.services.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Число SQL-выражений на типовые запросы не должно зависеть от количества броней, вещей и комментариев.
+ */
+@Transactional
+@SpringBootTest(
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class FetchPlanQueryCountTest {
+    private static final int ROWS = 20;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final EntityManager em;
+    private SqlStatementGuard guard;
+    private User owner;
+    private User booker;
+    private List<Item> items;
+    private List<Booking> bookings;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        guard = new SqlStatementGuard(em);
+        owner = persist(new User(null, "Alena", "alena@plan.ru"));
+        booker = persist(new User(null, "Nasty", "nasty@plan.ru"));
+        request = persist(new ItemRequest(null, "Нужна дрель", booker, LocalDateTime.now(), null));
+        items = new ArrayList<>();
+        bookings = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            Item item = persist(new Item(null, "Дрель " + i, "Простая дрель", true, owner, request));
+            items.add(item);
+            bookings.add(persist(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker,
+                    Status.APPROVED, null)));
+            bookings.add(persist(new Booking(null, now.plusDays(i + 1), now.plusDays(i + 2), item, booker,
+                    Status.WAITING, null)));
+            persist(new Comment(null, "Отличная дрель", item, booker, now.minusHours(1)));
+        }
+    }
+
+    @Test
+    void getBookingUsesSingleJoinTest() {
+        Booking booking = bookings.get(0);
+
+        BookingForResponse result = guard.assertAtMost(2,
+                () -> bookingService.getBooking(booking.getId(), booker.getId()));
+
+        assertEquals(items.get(0).getName(), result.getItem().getName());
+    }
+
+    @Test
+    void bookingListsDoNotLoadAssociationsTest() {
+        List<BookingForResponse> byBooker = guard.assertAtMost(2,
+                () -> bookingService.getAllBookingByUser("ALL", booker.getId(), 0, 100));
+        List<BookingForResponse> byOwner = guard.assertAtMost(2,
+                () -> bookingService.getAllBookingByOwner("ALL", owner.getId(), 0, 100));
+
+        assertEquals(2 * ROWS, byBooker.size());
+        assertEquals(2 * ROWS, byOwner.size());
+    }
+
+    @Test
+    void updateBookingLoadsOnlyBookingWithItemTest() {
+        Booking booking = bookings.get(1);
+
+        BookingForResponse result = guard.assertAtMost(3,
+                () -> bookingService.updateBooking(booking.getId(), owner.getId(), true));
+
+        assertEquals(Status.APPROVED, result.getStatus());
+    }
+
+    @Test
+    void itemsOfOwnerFetchCommentsWithAuthorsInOneQueryTest() {
+        List<ItemForBookingDto> result = guard.assertAtMost(4,
+                () -> itemService.getAllItemsUser(owner.getId(), 0, 100));
+
+        assertEquals(ROWS, result.size());
+        result.forEach(item -> assertEquals(booker.getName(), item.getComments().get(0).getAuthorName()));
+    }
+
+    @Test
+    void getItemFetchesCommentsWithAuthorsTest() {
+        ItemForBookingDto result = guard.assertAtMost(3,
+                () -> itemService.getItemDto(owner.getId(), items.get(0).getId()));
+
+        assertEquals(1, result.getComments().size());
+    }
+
+    @Test
+    void getItemRequestFetchesRequesterWithRequestTest() {
+        ItemRequestResponseDto result = guard.assertAtMost(3,
+                () -> itemRequestService.getItemRequest(request.getId(), owner.getId()));
+
+        assertEquals(booker.getName(), result.getRequester().getName());
+        assertEquals(ROWS, result.getItems().size());
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+}
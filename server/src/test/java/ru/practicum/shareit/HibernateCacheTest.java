@@ -0,0 +1,117 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.services.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.cache.use_query_cache=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext
+public class HibernateCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(new User(null, "Alena", "alena@cache.ru"));
+        item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void entitiesAreReadFromSecondLevelCacheTest() {
+        transactionTemplate.executeWithoutResult(status ->
+                itemRepository.findById(item.getId()).orElseThrow().getOwner().getName());
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Item cached = transactionTemplate.execute(status -> {
+            Item found = itemRepository.findById(item.getId()).orElseThrow();
+            found.getOwner().getName();
+            return found;
+        });
+
+        assertEquals("Дрель", cached.getName());
+        assertEquals(statementsBefore, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("items").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() > 0);
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "items").tag("result", "hit").functionCounter().count() > 0);
+    }
+
+    @Test
+    void updateEvictsStaleEntityTest() {
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(owner.getId()).orElseThrow());
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(owner.getId()).orElseThrow();
+            user.setName("Alena2");
+        });
+
+        User reloaded = transactionTemplate.execute(status -> userRepository.findById(owner.getId()).orElseThrow());
+
+        assertEquals("Alena2", reloaded.getName());
+    }
+
+    @Test
+    void itemsByOwnerQueryIsCachedWhenEnabledTest() {
+        PageRequest page = PageRequest.of(0, 10);
+        transactionTemplate.executeWithoutResult(status -> itemRepository.findAllByOwnerIdOrderById(owner.getId(), page));
+
+        int size = transactionTemplate.execute(status ->
+                itemRepository.findAllByOwnerIdOrderById(owner.getId(), page).getContent().size());
+
+        assertEquals(1, size);
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void deleteUserEvictsCascadedItemsTest() {
+        PageRequest page = PageRequest.of(0, 10);
+        transactionTemplate.executeWithoutResult(status -> itemRepository.findById(item.getId()).orElseThrow());
+        transactionTemplate.executeWithoutResult(status -> itemRepository.findAllByOwnerIdOrderById(owner.getId(), page));
+
+        userService.deleteUser(owner.getId());
+
+        assertTrue(transactionTemplate.execute(status -> itemRepository.findById(item.getId())).isEmpty());
+        assertTrue(transactionTemplate.execute(status ->
+                itemRepository.findAllByOwnerIdOrderById(owner.getId(), page)).isEmpty());
+    }
+}
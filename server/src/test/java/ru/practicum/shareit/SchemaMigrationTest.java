@@ -0,0 +1,40 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class SchemaMigrationTest {
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allMigrationsAppliedTest() {
+        assertEquals(0, flyway.info().pending().length);
+        assertNull(flyway.validateWithResult().errorDetails);
+    }
+
+    @Test
+    void lookupIndexesExistTest() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes", String.class);
+
+        for (String index : List.of("ix_bookings_booker_start", "ix_bookings_booker_state_start",
+                "ix_bookings_item_start", "ix_bookings_item_state_start", "ix_items_owner", "ix_items_request",
+                "ix_comments_item_created", "ix_requests_requester_created", "ix_requests_created",
+                "ix_bookings_state_id")) {
+            assertTrue(indexes.contains(index), index);
+        }
+    }
+}
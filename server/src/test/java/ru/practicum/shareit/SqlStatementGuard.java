@@ -0,0 +1,34 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Считает SQL-выражения, подготовленные Hibernate за время вызова, и роняет тест, если их больше ожидаемого.
+ * Перед вызовом сбрасывает контекст персистентности, чтобы ленивые связи не подтягивались из него бесплатно.
+ */
+public class SqlStatementGuard {
+    private final EntityManager em;
+    private final Statistics statistics;
+
+    public SqlStatementGuard(EntityManager em) {
+        this.em = em;
+        this.statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public <T> T assertAtMost(long expected, Supplier<T> call) {
+        em.flush();
+        em.clear();
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= expected,
+                "Запросов к БД: " + statements + ", ожидалось не больше " + expected);
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {"db.name=test", "spring.threads.virtual.enabled=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class VirtualThreadModeTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void requestsAreHandledOnVirtualThreadsTest() {
+        assertEquals(Boolean.TRUE, restTemplate.getForObject("/test/thread", Boolean.class));
+    }
+
+    @Test
+    void transactionalServicesWorkOnVirtualThreadsTest() {
+        UserDto created = restTemplate.postForObject("/users",
+                UserDto.builder().name("Alena").email("alena@virtual.ru").build(), UserDto.class);
+
+        ResponseEntity<UserDto> found = restTemplate.getForEntity("/users/" + created.getId(), UserDto.class);
+
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertNotNull(found.getBody());
+        assertTrue(found.getBody().getEmail().endsWith("@virtual.ru"));
+    }
+
+    @TestConfiguration
+    static class ThreadProbeConfig {
+        @RestController
+        static class ThreadProbeController {
+            @GetMapping("/test/thread")
+            boolean isVirtual() {
+                return Thread.currentThread().isVirtual();
+            }
+        }
+    }
+}
@@ -8,9 +8,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingSlice;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.services.BookingService;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
@@ -24,6 +32,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -144,6 +153,22 @@ public class BookingControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
 
+    @SneakyThrows
+    @Test
+    void getBookingSliceByOwnerTest() throws Exception {
+        when(bookingService.getBookingSliceByOwner(anyString(), anyLong(), anyString(), anyInt()))
+                .thenReturn(new BookingSlice(List.of(bookingDto), "next"));
+
+        mvc.perform(get(BASE_PATH_BOOKINGS + "/owner?state=ALL&cursor=")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+    }
+
     @SneakyThrows
     @Test
     public void shouldFailOnApproveWithErrorParamTest() throws Exception {
@@ -160,4 +185,50 @@ public class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(result -> Assertions.assertNotNull(result.getResolvedException()));
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getBookingSummaryByOwnerTest() throws Exception {
+        BookingSummaryDto summary = new BookingSummaryDto(6, 1, 2, 1, 1, 1);
+        when(bookingService.getBookingSummaryByOwner(1L))
+                .thenReturn(summary);
+
+        mvc.perform(get(BASE_PATH_BOOKINGS + "/owner/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(summary)));
+    }
+
+    @SneakyThrows
+    @Test
+    void updateBookingsTest() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false));
+        List<BookingDecisionResultDto> results = List.of(
+                new BookingDecisionResultDto(1L, BookingDecisionOutcome.APPROVED, Status.APPROVED),
+                new BookingDecisionResultDto(2L, BookingDecisionOutcome.ALREADY_PROCESSED, Status.CANCELED));
+        when(bookingService.updateBookings(1L, decisions))
+                .thenReturn(results);
+
+        mvc.perform(patch(BASE_PATH_BOOKINGS + "/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(decisions))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(results)));
+    }
+
+    @SneakyThrows
+    @Test
+    void updateBookingLostUpdateReturnsConflictTest() throws Exception {
+        when(bookingService.updateBooking(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        mvc.perform(patch(BASE_PATH_BOOKINGS + "/1?approved=true")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+}
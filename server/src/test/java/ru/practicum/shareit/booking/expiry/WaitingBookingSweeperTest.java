@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.services.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(
+        properties = "shareit.booking.expiry.batch-size=2",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@SpyBean(BookingRepository.class)
+class WaitingBookingSweeperTest {
+    private final WaitingBookingSweeper sweeper;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void sweepCancelsOnlyExpiredWaitingBookingsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "Drill", "Cordless drill", true, owner, null));
+        List<Long> expired = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            expired.add(bookingRepository.save(new Booking(null, now.minusHours(2L * i),
+                    now.minusHours(2L * i).plusHours(3), item, booker, Status.WAITING, null)).getId());
+        }
+        Booking future = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                Status.WAITING, null));
+        Booking approved = bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker,
+                Status.APPROVED, null));
+        // индекс хранит только незакончившиеся бронирования: первое из просроченных идёт до now + 1 час
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), now, now.plusMinutes(30)));
+
+        assertEquals(5, sweeper.sweep(now));
+
+        expired.forEach(id -> assertEquals(Status.CANCELED, bookingRepository.findById(id).orElseThrow().getStatus()));
+        assertEquals(Status.WAITING, bookingRepository.findById(future.getId()).orElseThrow().getStatus());
+        assertEquals(Status.APPROVED, bookingRepository.findById(approved.getId()).orElseThrow().getStatus());
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), now, now.plusMinutes(30)));
+
+        assertEquals(0, sweeper.sweep(now));
+
+        assertEquals(2, meterRegistry.get("shareit.bookings.expiry.rows").summary().count());
+        assertEquals(5, meterRegistry.get("shareit.bookings.expiry.rows").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("shareit.bookings.expiry.duration").timer().count());
+        assertEquals(5, meterRegistry.get("shareit.bookings.expired").counter().count());
+    }
+
+    @Test
+    void sweepSkipsBookingApprovedAfterSelectTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "Drill", "Cordless drill", true, owner, null));
+        Booking approvedLater = bookingRepository.save(new Booking(null, now.minusHours(1), now.plusHours(2), item,
+                booker, Status.WAITING, null));
+        Booking expired = bookingRepository.save(new Booking(null, now.minusHours(1), now.plusHours(1), item,
+                booker, Status.WAITING, null));
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), now.plusHours(1), now.plusHours(2)));
+        doAnswer(invocation -> {
+            // у шпиона над прокси репозитория реальный вызов идёт через делегирующий ответ по умолчанию
+            Object candidates = mockingDetails(bookingRepository).getMockCreationSettings().getDefaultAnswer()
+                    .answer(invocation);
+            // владелец подтверждает бронирование в своей транзакции, пока проход держит выборку без блокировок
+            Thread approve = new Thread(() -> bookingService.updateBooking(approvedLater.getId(), owner.getId(), true));
+            approve.start();
+            approve.join();
+            return candidates;
+        }).when(bookingRepository).findIdsByStatusAndStartBefore(any(), any(), anyLong(), any());
+
+        assertEquals(1, sweeper.sweep(now));
+
+        assertEquals(Status.APPROVED, bookingRepository.findById(approvedLater.getId()).orElseThrow().getStatus());
+        assertEquals(Status.CANCELED, bookingRepository.findById(expired.getId()).orElseThrow().getStatus());
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), now.plusHours(1), now.plusHours(2)));
+        assertEquals(1, meterRegistry.get("shareit.bookings.expired").counter().count());
+    }
+}
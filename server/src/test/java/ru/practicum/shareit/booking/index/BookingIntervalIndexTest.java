@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BookingIntervalIndexTest {
+    private static final long ITEM_ID = 1L;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingIntervalIndex index = new BookingIntervalIndex(bookingRepository,
+            new SimpleMeterRegistry(), 100);
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private final BookingInterval interval = new BookingInterval(10L, start, start.plusHours(2));
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void removeIsAppliedToItemLoadedBeforeCommitTest() {
+        when(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any()))
+                .thenReturn(List.of(interval));
+
+        index.remove(ITEM_ID, interval.getId());
+        // другой запрос загрузил вещь до коммита и прочитал бронирование ещё активным
+        assertTrue(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+        commit();
+
+        assertFalse(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+    }
+
+    @Test
+    void loadRunningDuringCommitIsNotKeptTest() {
+        index.remove(ITEM_ID, interval.getId());
+        when(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any()))
+                .thenAnswer(invocation -> {
+                    commit();
+                    return List.of(interval);
+                })
+                .thenReturn(List.of());
+
+        index.overlaps(ITEM_ID, start, start.plusHours(1));
+
+        assertFalse(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+        verify(bookingRepository, times(2)).findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any());
+    }
+
+    @Test
+    void addIsAppliedToItemLoadedBeforeCommitTest() throws InterruptedException {
+        when(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any()))
+                .thenReturn(List.of());
+        index.add(ITEM_ID, interval);
+        Thread eviction = new Thread(index::invalidateAll);
+        eviction.start();
+        eviction.join();
+        // вещь вытеснена и загружена заново без незакоммиченного бронирования
+        assertFalse(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+        commit();
+
+        assertTrue(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+    }
+
+    @Test
+    void invalidateAllIsRepeatedAfterCommitTest() {
+        when(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any()))
+                .thenReturn(List.of(interval))
+                .thenReturn(List.of());
+
+        index.invalidateAll();
+        assertTrue(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+        commit();
+
+        assertFalse(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+    }
+
+    @Test
+    void rolledBackRemoveRestoresIntervalTest() {
+        when(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any()))
+                .thenReturn(List.of(interval));
+        assertTrue(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+
+        index.remove(ITEM_ID, interval.getId());
+        assertFalse(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(index.overlaps(ITEM_ID, start, start.plusHours(1)));
+    }
+
+    @Test
+    void occupiedCoversPartialHoursAndSkipsTouchingEndTest() {
+        LocalDateTime day = start.truncatedTo(ChronoUnit.DAYS);
+        BookingInterval booking = new BookingInterval(10L, day.plusHours(22).plusMinutes(30), day.plusHours(26));
+        when(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any()))
+                .thenReturn(List.of(booking));
+
+        BitSet hours = index.occupiedHours(ITEM_ID, day, 48);
+        assertEquals(22, hours.nextSetBit(0));
+        assertEquals(26, hours.nextClearBit(22));
+        assertEquals(-1, hours.nextSetBit(26));
+
+        BitSet days = index.occupiedDays(ITEM_ID, day.toLocalDate(), 3);
+        assertTrue(days.get(0));
+        assertTrue(days.get(1));
+        assertFalse(days.get(2));
+    }
+
+    @Test
+    void removeKeepsHourSharedWithRemainingIntervalTest() {
+        BookingInterval first = new BookingInterval(1L, start.plusHours(1), start.plusHours(2).plusMinutes(30));
+        BookingInterval second = new BookingInterval(2L, start.plusHours(2).plusMinutes(30), start.plusHours(4));
+        when(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any()))
+                .thenReturn(List.of(first, second));
+        assertEquals(3, index.occupiedHours(ITEM_ID, start, 5).cardinality());
+
+        index.remove(ITEM_ID, first.getId());
+        BitSet hours = index.occupiedHours(ITEM_ID, start, 5);
+
+        assertFalse(hours.get(1));
+        assertTrue(hours.get(2));
+        assertTrue(hours.get(3));
+        assertFalse(hours.get(4));
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        complete(TransactionSynchronization.STATUS_COMMITTED, synchronizations);
+    }
+
+    private void complete(int status) {
+        complete(status, TransactionSynchronizationManager.getSynchronizations());
+    }
+
+    private void complete(int status, List<TransactionSynchronization> synchronizations) {
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
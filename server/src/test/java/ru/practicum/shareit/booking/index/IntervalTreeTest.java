@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalTreeTest {
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapsPartialAndContainedIntervalsTest() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(new BookingInterval(1L, base.plusHours(10), base.plusHours(20)));
+
+        assertTrue(tree.overlaps(base.plusHours(5), base.plusHours(11)));
+        assertTrue(tree.overlaps(base.plusHours(19), base.plusHours(30)));
+        assertTrue(tree.overlaps(base.plusHours(12), base.plusHours(13)));
+        assertTrue(tree.overlaps(base, base.plusHours(30)));
+        assertFalse(tree.overlaps(base, base.plusHours(10)));
+        assertFalse(tree.overlaps(base.plusHours(20), base.plusHours(30)));
+    }
+
+    @Test
+    void removeTest() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(new BookingInterval(1L, base, base.plusHours(1)));
+        tree.add(new BookingInterval(2L, base.plusHours(2), base.plusHours(3)));
+
+        assertTrue(tree.remove(1L));
+        assertFalse(tree.remove(1L));
+        assertEquals(1, tree.size());
+        assertFalse(tree.overlaps(base, base.plusHours(1)));
+        assertTrue(tree.overlaps(base, base.plusHours(3)));
+    }
+
+    @Test
+    void matchesLinearScanTest() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<BookingInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(100_000));
+            BookingInterval interval = new BookingInterval(id, start, start.plusMinutes(1 + random.nextInt(600)));
+            intervals.add(interval);
+            tree.add(interval);
+            if (random.nextInt(4) == 0) {
+                BookingInterval removed = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(removed.getId());
+            }
+        }
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(100_000));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(600));
+            boolean expected = intervals.stream()
+                    .anyMatch(b -> b.getStart().isBefore(end) && b.getEnd().isAfter(start));
+            assertEquals(expected, tree.overlaps(start, end));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ObjectConflictException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemReservationLocksTest {
+    private final ItemReservationLocks locks = new ItemReservationLocks(16, Duration.ofMillis(50));
+
+    @Test
+    void lockIsHeldUntilTransactionCompletionTest() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            locks.lockUntilCompletion(1L);
+
+            CompletionException ex = assertThrows(CompletionException.class,
+                    () -> CompletableFuture.runAsync(() -> locks.lockUntilCompletion(1L)).join());
+            assertInstanceOf(ObjectConflictException.class, ex.getCause());
+            assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> locks.lockUntilCompletion(2L)).join());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> locks.lockUntilCompletion(1L)).join());
+    }
+
+    @Test
+    void lockWithoutTransactionIsReleasedImmediatelyTest() {
+        locks.lockUntilCompletion(1L);
+
+        assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> locks.lockUntilCompletion(1L)).join());
+    }
+}
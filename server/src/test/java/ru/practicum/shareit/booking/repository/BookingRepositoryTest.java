@@ -1,22 +1,25 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextView;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.index.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 @DataJpaTest
@@ -135,17 +138,17 @@ public class BookingRepositoryTest {
                 Status.REJECTED));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllBookingsByOwner(owner.getId(), pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllBookingsByOwner(owner.getId(), pageable);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
         assertThat(listBookings.get(1).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -182,15 +185,15 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllCurrentBookingsByOwner(owner.getId(),
-                LocalDateTime.now(), pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllCurrentBookingsByOwner(owner.getId(),
+                LocalDateTime.now(), pageable);
 
         assertThat(listBookings)
                 .hasSize(1)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -227,15 +230,15 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllPastBookingsByOwner(owner1.getId(),
-                LocalDateTime.now(), Status.APPROVED, pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllPastBookingsByOwner(owner1.getId(),
+                LocalDateTime.now(), Status.APPROVED, pageable);
 
         assertThat(listBookings)
                 .hasSize(1)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -272,15 +275,15 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllFutureBookingsByOwner(owner.getId(),
-                LocalDateTime.now(), pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllFutureBookingsByOwner(owner.getId(),
+                LocalDateTime.now(), pageable);
 
         assertThat(listBookings)
                 .hasSize(1)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
     }
 
@@ -317,18 +320,18 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllWaitingBookingsByOwner(owner.getId(),
-                Status.WAITING, pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllWaitingBookingsByOwner(owner.getId(),
+                Status.WAITING, pageable);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
         assertThat(listBookings.get(1).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -365,18 +368,18 @@ public class BookingRepositoryTest {
                 Status.REJECTED));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllBookingsByOwner(owner.getId(),
-                Status.REJECTED, Status.CANCELED, pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllBookingsByOwner(owner.getId(),
+                Status.REJECTED, Status.CANCELED, pageable);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
         assertThat(listBookings.get(1).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -413,17 +416,17 @@ public class BookingRepositoryTest {
                 Status.APPROVED));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllBookingsByBooker(booker.getId(), pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllBookingsByBooker(booker.getId(), pageable);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
         assertThat(listBookings.get(1).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -460,15 +463,15 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllCurrentBookingsByBooker(booker.getId(),
-                LocalDateTime.now(), pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllCurrentBookingsByBooker(booker.getId(),
+                LocalDateTime.now(), pageable);
 
         assertThat(listBookings)
                 .hasSize(1)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -505,15 +508,15 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllPastBookingsByBooker(booker.getId(),
-                LocalDateTime.now(), Status.APPROVED, pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllPastBookingsByBooker(booker.getId(),
+                LocalDateTime.now(), Status.APPROVED, pageable);
 
         assertThat(listBookings)
                 .hasSize(1)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -550,15 +553,15 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllFutureBookingsByBooker(booker.getId(),
-                LocalDateTime.now(), pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllFutureBookingsByBooker(booker.getId(),
+                LocalDateTime.now(), pageable);
 
         assertThat(listBookings)
                 .hasSize(1)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
     }
 
@@ -595,18 +598,18 @@ public class BookingRepositoryTest {
                 Status.WAITING));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllWaitingBookingsByBooker(booker.getId(),
-                Status.WAITING, pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllWaitingBookingsByBooker(booker.getId(),
+                Status.WAITING, pageable);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
         assertThat(listBookings.get(1).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
@@ -643,23 +646,23 @@ public class BookingRepositoryTest {
                 Status.REJECTED));
 
         Pageable pageable = PageRequest.of(0, 20);
-        List<Booking> listBookings = bookingRepository.findAllBookingsByBooker(booker.getId(),
-                Status.REJECTED, Status.CANCELED, pageable).getContent();
+        List<BookingForResponse> listBookings = bookingRepository.findAllBookingsByBooker(booker.getId(),
+                Status.REJECTED, Status.CANCELED, pageable);
 
         assertThat(listBookings)
                 .hasSize(2)
                 .element(0)
                 .hasFieldOrProperty("item");
         assertThat(listBookings.get(0).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Baby doll");
         assertThat(listBookings.get(1).getItem())
-                .isInstanceOf(Item.class)
+                .isInstanceOf(ItemWithBookingDto.class)
                 .hasFieldOrPropertyWithValue("name", "Doll");
     }
 
     @Test
-    public void shouldValidateBookingTest() {
+    public void shouldFindActiveIntervalsEndingAfterNowTest() {
         LocalDateTime now = LocalDateTime.now();
         User owner = entityManager.persist(makeUser(null,
                 "Alena",
@@ -667,39 +670,185 @@ public class BookingRepositoryTest {
         User booker = entityManager.persist(makeUser(null,
                 "Nasty",
                 "nasty@gmail.com"));
-        Item item1 = entityManager.persist(makeItem(null,
+        Item item = entityManager.persist(makeItem(null,
                 "Doll",
                 "Barbie",
                 owner,
                 true));
-        Item item2 = entityManager.persist(makeItem(null,
-                "Baby doll",
-                "baby doll for children",
-                owner,
-                true));
-        BookingDtoRequest bookingDtoRequest = BookingDtoRequest
-                .builder()
-                .itemId(owner.getId())
-                .start(now.minusDays(2))
-                .end(now.minusDays(1))
-                .build();
         entityManager.persist(makeBooking(null,
                 now.minusDays(2),
+                now.minusDays(1),
+                item,
+                booker,
+                Status.APPROVED));
+        Booking current = entityManager.persist(makeBooking(null,
+                now.minusDays(1),
                 now.plusDays(1),
-                item1,
+                item,
                 booker,
-                Status.WAITING));
-        entityManager.persist(makeBooking(null,
+                Status.APPROVED));
+        Booking future = entityManager.persist(makeBooking(null,
                 now.plusDays(1),
                 now.plusDays(2),
-                item2,
+                item,
                 booker,
                 Status.WAITING));
+        entityManager.persist(makeBooking(null,
+                now.plusDays(3),
+                now.plusDays(4),
+                item,
+                booker,
+                Status.REJECTED));
+
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(item.getId(),
+                List.of(Status.WAITING, Status.APPROVED), now);
+
+        assertThat(intervals).extracting(BookingInterval::getId)
+                .containsExactlyInAnyOrder(current.getId(), future.getId());
+    }
 
-        try {
-            bookingRepository.checkValidateBookings(item1.getId(), bookingDtoRequest.getStart());
-        } catch (BadRequestException ex) {
-            assertThatExceptionOfType(BadRequestException.class);
-        }
+    @Test
+    public void shouldFindLastAndNextBookingsByItemIdsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = entityManager.persist(makeUser(null,
+                "Alena",
+                "alena@gmail.com"));
+        User booker = entityManager.persist(makeUser(null,
+                "Nasty",
+                "nasty@gmail.com"));
+        Item item1 = entityManager.persist(makeItem(null,
+                "Doll",
+                "Barbie doll",
+                owner,
+                true));
+        Item item2 = entityManager.persist(makeItem(null,
+                "Baby doll",
+                "baby doll for children",
+                owner,
+                true));
+        entityManager.persist(makeBooking(null, now.minusDays(5), now.minusDays(4), item1, booker, Status.APPROVED));
+        Booking last = entityManager.persist(makeBooking(null, now.minusDays(2), now.minusDays(1), item1, booker,
+                Status.APPROVED));
+        Booking next = entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(2), item1, booker,
+                Status.APPROVED));
+        entityManager.persist(makeBooking(null, now.plusDays(3), now.plusDays(4), item1, booker, Status.APPROVED));
+        entityManager.persist(makeBooking(null, now.plusHours(1), now.plusHours(2), item1, booker, Status.WAITING));
+        entityManager.persist(makeBooking(null, now.minusDays(1), now.plusDays(1), item2, booker, Status.REJECTED));
+        entityManager.flush();
+
+        List<BookingLastAndNextView> views = bookingRepository.findLastAndNextByItemIdIn(
+                List.of(item1.getId(), item2.getId()), Status.APPROVED.name(), now);
+
+        assertThat(views).hasSize(2);
+        assertThat(views).anySatisfy(view -> {
+            assertThat(view.getPast()).isTrue();
+            assertThat(view.getId()).isEqualTo(last.getId());
+            assertThat(view.getItemId()).isEqualTo(item1.getId());
+            assertThat(view.getBookerId()).isEqualTo(booker.getId());
+        });
+        assertThat(views).anySatisfy(view -> {
+            assertThat(view.getPast()).isFalse();
+            assertThat(view.getId()).isEqualTo(next.getId());
+        });
+    }
+
+    @Test
+    public void shouldCountBookingsPerStateTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = entityManager.persist(makeUser(null, "Alena", "alena@gmail.com"));
+        User booker = entityManager.persist(makeUser(null, "Nasty", "nasty@gmail.com"));
+        Item item = entityManager.persist(makeItem(null, "Doll", "Barbie doll", owner, true));
+        entityManager.persist(makeBooking(null, now.minusDays(5), now.minusDays(4), item, booker, Status.APPROVED));
+        entityManager.persist(makeBooking(null, now.minusDays(1), now.plusDays(1), item, booker, Status.APPROVED));
+        entityManager.persist(makeBooking(null, now.plusDays(2), now.plusDays(3), item, booker, Status.WAITING));
+        entityManager.persist(makeBooking(null, now.plusDays(4), now.plusDays(5), item, booker, Status.REJECTED));
+        entityManager.persist(makeBooking(null, now.minusDays(3), now.minusDays(2), item, booker, Status.CANCELED));
+        List<Status> rejected = List.of(Status.REJECTED, Status.CANCELED);
+
+        BookingSummaryDto byBooker = bookingRepository.countBookingsByBookerGroupedByState(booker.getId(), now,
+                Status.APPROVED, Status.WAITING, rejected);
+        BookingSummaryDto byOwner = bookingRepository.countBookingsByOwnerGroupedByState(owner.getId(), now,
+                Status.APPROVED, Status.WAITING, rejected);
+        BookingSummaryDto empty = bookingRepository.countBookingsByBookerGroupedByState(owner.getId(), now,
+                Status.APPROVED, Status.WAITING, rejected);
+
+        assertThat(byBooker).isEqualTo(new BookingSummaryDto(5, 1, 1, 2, 1, 2));
+        assertThat(byOwner).isEqualTo(byBooker);
+        assertThat(empty).isEqualTo(new BookingSummaryDto());
+    }
+
+    @Test
+    public void shouldListRejectedBookingsOnlyForUserAsSummaryTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = entityManager.persist(makeUser(null, "Alena", "alena@gmail.com"));
+        User booker = entityManager.persist(makeUser(null, "Nasty", "nasty@gmail.com"));
+        User stranger = entityManager.persist(makeUser(null, "Olga", "olga@gmail.com"));
+        Item item = entityManager.persist(makeItem(null, "Doll", "Barbie doll", owner, true));
+        Item strangerItem = entityManager.persist(makeItem(null, "Ball", "Football", stranger, true));
+        entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(2), item, booker, Status.REJECTED));
+        entityManager.persist(makeBooking(null, now.minusDays(2), now.minusDays(1), item, booker, Status.CANCELED));
+        entityManager.persist(makeBooking(null, now.plusDays(3), now.plusDays(4), strangerItem, owner,
+                Status.CANCELED));
+        entityManager.persist(makeBooking(null, now.plusDays(5), now.plusDays(6), item, stranger, Status.REJECTED));
+        List<Status> rejected = List.of(Status.REJECTED, Status.CANCELED);
+        Pageable pageable = PageRequest.of(0, 20);
+
+        List<BookingForResponse> byBooker = bookingRepository.findAllBookingsByBooker(booker.getId(),
+                Status.REJECTED, Status.CANCELED, pageable);
+        List<BookingForResponse> byOwner = bookingRepository.findAllBookingsByOwner(booker.getId(),
+                Status.REJECTED, Status.CANCELED, pageable);
+
+        assertThat(byBooker).hasSize(2);
+        assertThat(byOwner).isEmpty();
+        assertThat(bookingRepository.countBookingsByBookerGroupedByState(booker.getId(), now,
+                Status.APPROVED, Status.WAITING, rejected).getRejected()).isEqualTo(byBooker.size());
+        assertThat(bookingRepository.countBookingsByOwnerGroupedByState(booker.getId(), now,
+                Status.APPROVED, Status.WAITING, rejected).getRejected()).isEqualTo(byOwner.size());
+    }
+
+    @Test
+    public void shouldUpdateStatusOnlyForOwnerAndWaitingTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = entityManager.persist(makeUser(null, "Alena", "alena@gmail.com"));
+        User booker = entityManager.persist(makeUser(null, "Nasty", "nasty@gmail.com"));
+        Item item = entityManager.persist(makeItem(null, "Doll", "Barbie doll", owner, true));
+        Booking booking = entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                Status.WAITING));
+
+        assertThat(bookingRepository.updateStatusByIdAndOwnerAndStatus(booking.getId(), booker.getId(),
+                Status.APPROVED, Status.WAITING)).isZero();
+        assertThat(bookingRepository.updateStatusByIdAndOwnerAndStatus(booking.getId(), owner.getId(),
+                Status.APPROVED, Status.WAITING)).isOne();
+        assertThat(bookingRepository.updateStatusByIdAndOwnerAndStatus(booking.getId(), owner.getId(),
+                Status.REJECTED, Status.WAITING)).isZero();
+
+        Booking updated = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void shouldProjectBookingListWithoutLoadingEntitiesTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = entityManager.persist(makeUser(null, "Alena", "alena@gmail.com"));
+        User booker = entityManager.persist(makeUser(null, "Nasty", "nasty@gmail.com"));
+        Item item = entityManager.persist(makeItem(null, "Doll", "Barbie doll", owner, true));
+        Booking booking = entityManager.persist(makeBooking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                Status.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingForResponse> listBookings = bookingRepository.findAllBookingsByOwner(owner.getId(),
+                PageRequest.of(0, 20));
+
+        assertThat(listBookings).hasSize(1);
+        BookingForResponse found = listBookings.get(0);
+        assertThat(found.getId()).isEqualTo(booking.getId());
+        assertThat(found.getItem().getId()).isEqualTo(item.getId());
+        assertThat(found.getItem().getName()).isEqualTo("Doll");
+        assertThat(found.getBooker().getId()).isEqualTo(booker.getId());
+        assertThat(found.getStatus()).isEqualTo(Status.WAITING);
+        assertThat(entityManager.getEntityManager().unwrap(SessionImplementor.class).getPersistenceContext()
+                .getNumberOfManagedEntities()).isZero();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.index.BookingInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.services.BookingService;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ObjectConflictException;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.services.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConcurrencyTest {
+    private static final int BOOKERS = 64;
+    private static final int DECIDERS = 16;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    private long ownerId;
+    private long itemId;
+    private final List<Long> bookerIds = new ArrayList<>();
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserDto(null, "owner", "owner@mail.ru")).getId();
+        itemId = itemService.addItem(ownerId, ItemDtoRequest.builder()
+                .name("Drill").description("Cordless drill").available(true).build()).getId();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookerIds.add(userService.createUser(new UserDto(null, "booker" + i, "booker" + i + "@mail.ru")).getId());
+        }
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void sameIntervalIsBookedOnceTest() throws Exception {
+        List<Outcome> outcomes = bookConcurrently(i -> BookingDtoRequest.builder()
+                .itemId(itemId).start(base).end(base.plusHours(2)).build());
+
+        assertEquals(1, outcomes.stream().filter(o -> o == Outcome.BOOKED).count());
+        assertEquals(BOOKERS - 1, outcomes.stream().filter(o -> o == Outcome.REJECTED).count());
+        assertEquals(1, activeIntervals().size());
+    }
+
+    @Test
+    void randomOverlappingIntervalsNeverOverlapInDatabaseTest() throws Exception {
+        Random random = new Random(42);
+        List<BookingDtoRequest> requests = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(48));
+            requests.add(BookingDtoRequest.builder()
+                    .itemId(itemId).start(start).end(start.plusHours(1 + random.nextInt(6))).build());
+        }
+
+        List<Outcome> outcomes = bookConcurrently(requests::get);
+
+        List<BookingInterval> active = activeIntervals();
+        assertEquals(outcomes.stream().filter(o -> o == Outcome.BOOKED).count(), active.size());
+        active.sort(Comparator.comparing(BookingInterval::getStart));
+        for (int i = 1; i < active.size(); i++) {
+            assertFalse(active.get(i).getStart().isBefore(active.get(i - 1).getEnd()),
+                    "Пересекаются брони " + active.get(i - 1) + " и " + active.get(i));
+        }
+    }
+
+    @Test
+    void concurrentDecisionsOnOneBookingApplyOnceTest() throws Exception {
+        long bookingId = bookingService.addBooking(bookerIds.get(0), BookingDtoRequest.builder()
+                .itemId(itemId).start(base).end(base.plusHours(2)).build()).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(DECIDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int i = 0; i < DECIDERS; i++) {
+                boolean approve = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.updateBooking(bookingId, ownerId, approve);
+                        return Outcome.BOOKED;
+                    } catch (ObjectConflictException e) {
+                        return Outcome.REJECTED;
+                    }
+                }));
+            }
+            start.countDown();
+            long applied = 0;
+            for (Future<Outcome> future : futures) {
+                applied += future.get() == Outcome.BOOKED ? 1 : 0;
+            }
+            assertEquals(1, applied);
+        } finally {
+            executor.shutdownNow();
+        }
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        assertNotEquals(Status.WAITING, booking.getStatus());
+        assertEquals(1L, booking.getVersion());
+    }
+
+    @Test
+    void losingDecisionGetsConflictTest() throws Exception {
+        long bookingId = bookingService.addBooking(bookerIds.get(0), BookingDtoRequest.builder()
+                .itemId(itemId).start(base).end(base.plusHours(2)).build()).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> approve = executor.submit(() -> {
+                start.await();
+                return bookingService.updateBooking(bookingId, ownerId, true);
+            });
+            Future<?> reject = executor.submit(() -> {
+                start.await();
+                return bookingService.updateBooking(bookingId, ownerId, false);
+            });
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : List.of(approve, reject)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            assertEquals(1, failures.size());
+            assertInstanceOf(ObjectConflictException.class, failures.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Outcome> bookConcurrently(IntFunction<BookingDtoRequest> request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int i = 0; i < BOOKERS; i++) {
+                long bookerId = bookerIds.get(i);
+                BookingDtoRequest dto = request.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.addBooking(bookerId, dto);
+                        return Outcome.BOOKED;
+                    } catch (BadRequestException | ObjectConflictException e) {
+                        return Outcome.REJECTED;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<BookingInterval> activeIntervals() {
+        return new ArrayList<>(bookingRepository.findIntervalsByItemAndStatusInAndEndAfter(itemId,
+                List.of(Status.WAITING, Status.APPROVED), LocalDateTime.now()));
+    }
+
+    private enum Outcome {
+        BOOKED,
+        REJECTED
+    }
+}
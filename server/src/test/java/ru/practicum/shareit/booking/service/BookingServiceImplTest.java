@@ -9,15 +9,20 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.dto.BookingForResponse;
+import ru.practicum.shareit.booking.dto.BookingSlice;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.services.BookingService;
 import ru.practicum.shareit.booking.services.BookingServiceImpl;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ObjectConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
@@ -28,6 +33,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.services.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -115,9 +121,10 @@ public class BookingServiceImplTest {
                 .build();
 
 
+        // точность столбцов timestamp - микросекунды, а updateBooking возвращает бронь, прочитанную из БД
         bookItemRequestDto = BookingDtoRequest.builder()
-                .start(LocalDateTime.now().plusNanos(1))
-                .end(LocalDateTime.now().plusNanos(2))
+                .start(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).plusNanos(1000))
+                .end(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).plusNanos(2000))
                 .itemId(itemDtoFromDB.getId())
                 .build();
         secondBookItemRequestDto = BookingDtoRequest.builder()
@@ -167,8 +174,8 @@ public class BookingServiceImplTest {
         BookingForResponse waitingBooking = bookingService.updateBooking(bookingDtoFromDB.getId(), testUser.getId(),
                 true);
 
-        BadRequestException ex = assertThrows(BadRequestException.class,
-                () -> bookingService.updateBooking(testUser.getId(), bookingDtoFromDB.getId(),
+        ObjectConflictException ex = assertThrows(ObjectConflictException.class,
+                () -> bookingService.updateBooking(bookingDtoFromDB.getId(), testUser.getId(),
                         true));
         assertEquals("Данное бронирование уже было обработано и имеет статус APPROVED", ex.getMessage());
     }
@@ -204,6 +211,51 @@ public class BookingServiceImplTest {
 
     }
 
+    @Test
+    void getBookingSliceByUserTest() {
+        BookingForResponse first = bookingService.addBooking(secondTestUser.getId(), bookItemRequestDto);
+        BookingForResponse second = bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
+
+        BookingSlice firstPage = bookingService.getBookingSliceByUser("ALL", secondTestUser.getId(), null, 1);
+        BookingSlice secondPage = bookingService.getBookingSliceByUser("ALL", secondTestUser.getId(),
+                firstPage.getNextCursor(), 1);
+
+        assertEquals(1, firstPage.getBookings().size());
+        assertEquals(second.getId(), firstPage.getBookings().get(0).getId());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getBookings().size());
+        assertEquals(first.getId(), secondPage.getBookings().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getBookingSliceByOwnerTest() {
+        bookingService.addBooking(secondTestUser.getId(), bookItemRequestDto);
+        bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
+
+        BookingSlice page = bookingService.getBookingSliceByOwner("WAITING", testUser.getId(), "", 5);
+
+        assertEquals(2, page.getBookings().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getBookingSliceInvalidCursorTest() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> bookingService.getBookingSliceByUser("ALL", secondTestUser.getId(), "broken", 5));
+        assertEquals("Некорректный курсор: broken", ex.getMessage());
+    }
+
+    @Test
+    void getBookingSliceNonPositiveSizeTest() {
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getBookingSliceByUser("ALL", secondTestUser.getId(), null, 0));
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getBookingSliceByOwner("ALL", testUser.getId(), null, -1));
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getAllBookingByUser("ALL", secondTestUser.getId(), 0, 0));
+    }
+
     @Test
     void getAllBookingsExceptionTest() {
         ObjectNotFoundException ex = assertThrows(ObjectNotFoundException.class,
@@ -478,6 +530,30 @@ public class BookingServiceImplTest {
         assertEquals("Бронь с ID 3 не зарегистрирован!", exception.getMessage());
     }
 
+    @Test
+    void addBookingPartialOverlapTest() {
+        bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
+        BookingDtoRequest overlapping = BookingDtoRequest.builder()
+                .start(secondBookItemRequestDto.getStart().minusHours(1))
+                .end(secondBookItemRequestDto.getStart().plusHours(1))
+                .itemId(itemDtoFromDB.getId())
+                .build();
+
+        ObjectConflictException ex = assertThrows(ObjectConflictException.class,
+                () -> bookingService.addBooking(secondTestUser.getId(), overlapping));
+        assertEquals("Найдено пересечение броней на эту вещь с name = Doll.", ex.getMessage());
+    }
+
+    @Test
+    void addBookingAfterRejectTest() {
+        BookingForResponse rejected = bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
+        bookingService.updateBooking(rejected.getId(), testUser.getId(), false);
+
+        BookingForResponse booking = bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
+
+        assertEquals(Status.WAITING, booking.getStatus());
+    }
+
     @Test
     public void approveWithInvalidBookingIdShouldThrowNotFoundExceptionTest() {
         Long ownerId = 1L;
@@ -489,4 +565,53 @@ public class BookingServiceImplTest {
 
         assertEquals("Бронь с ID 1 не зарегистрирован!", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateBookingsReportsOutcomePerIdTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingForResponse toApprove = bookingService.addBooking(secondTestUser.getId(), BookingDtoRequest.builder()
+                .itemId(itemDtoFromDB.getId()).start(start).end(start.plusHours(1)).build());
+        BookingForResponse toReject = bookingService.addBooking(secondTestUser.getId(), BookingDtoRequest.builder()
+                .itemId(itemDtoFromDB.getId()).start(start.plusHours(2)).end(start.plusHours(3)).build());
+        BookingForResponse processed = bookingService.addBooking(secondTestUser.getId(), BookingDtoRequest.builder()
+                .itemId(itemDtoFromDB.getId()).start(start.plusHours(4)).end(start.plusHours(5)).build());
+        bookingService.updateBooking(processed.getId(), testUser.getId(), false);
+        UserDto otherOwner = userService.createUser(new UserDto(null, "other", "other@gmail.com"));
+        ItemDtoResponse otherItem = itemService.addItem(otherOwner.getId(), ItemDtoRequest.builder()
+                .name("Ball").description("Football").available(true).build());
+        BookingForResponse foreign = bookingService.addBooking(secondTestUser.getId(), BookingDtoRequest.builder()
+                .itemId(otherItem.getId()).start(start).end(start.plusHours(1)).build());
+
+        List<BookingDecisionResultDto> results = bookingService.updateBookings(testUser.getId(), List.of(
+                new BookingDecisionDto(toApprove.getId(), true),
+                new BookingDecisionDto(toReject.getId(), false),
+                new BookingDecisionDto(processed.getId(), true),
+                new BookingDecisionDto(foreign.getId(), true),
+                new BookingDecisionDto(9999L, true)));
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(toApprove.getId(), BookingDecisionOutcome.APPROVED, Status.APPROVED),
+                new BookingDecisionResultDto(toReject.getId(), BookingDecisionOutcome.REJECTED, Status.REJECTED),
+                new BookingDecisionResultDto(processed.getId(), BookingDecisionOutcome.ALREADY_PROCESSED,
+                        Status.REJECTED),
+                new BookingDecisionResultDto(foreign.getId(), BookingDecisionOutcome.NOT_OWNER, null),
+                new BookingDecisionResultDto(9999L, BookingDecisionOutcome.NOT_FOUND, null)), results);
+        assertEquals(Status.APPROVED, bookingService.getBooking(toApprove.getId(), testUser.getId()).getStatus());
+        assertEquals(Status.REJECTED, bookingService.getBooking(toReject.getId(), testUser.getId()).getStatus());
+        assertEquals(Status.WAITING, bookingService.getBooking(foreign.getId(), otherOwner.getId()).getStatus());
+
+        BookingForResponse rebooked = bookingService.addBooking(secondTestUser.getId(), BookingDtoRequest.builder()
+                .itemId(itemDtoFromDB.getId()).start(start.plusHours(2)).end(start.plusHours(3)).build());
+        assertEquals(Status.WAITING, rebooked.getStatus());
+    }
+
+    @Test
+    void updateBookingsRejectsDuplicateIdsTest() {
+        BookingForResponse booking = bookingService.addBooking(secondTestUser.getId(), secondBookItemRequestDto);
+
+        assertThrows(BadRequestException.class, () -> bookingService.updateBookings(testUser.getId(), List.of(
+                new BookingDecisionDto(booking.getId(), true),
+                new BookingDecisionDto(booking.getId(), false))));
+        assertEquals(Status.WAITING, bookingService.getBooking(booking.getId(), testUser.getId()).getStatus());
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.lock.ItemReservationLocks;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.services.BookingServiceImpl;
+import ru.practicum.shareit.exception.ObjectConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingServiceUnitTest {
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private ItemReservationLocks itemReservationLocks;
+
+    private final User owner = new User(1L, "Alena", "alena@mail.ru");
+    private final User booker = new User(2L, "Nasty", "nasty@mail.ru");
+    private final Item item = new Item(1L, "Дрель", "Аккумуляторная дрель", true, owner, null);
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private final BookingDtoRequest request = BookingDtoRequest.builder()
+            .itemId(item.getId()).start(start).end(start.plusHours(2)).build();
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userCache.get(booker.getId())).thenReturn(Optional.of(booker));
+    }
+
+    @Test
+    void overlapConstraintViolationIsConflictTest() {
+        when(bookingRepository.save(any())).thenThrow(violation("bookings_item_active_no_overlap"));
+
+        assertThrows(ObjectConflictException.class, () -> bookingService.addBooking(booker.getId(), request));
+    }
+
+    @Test
+    void otherConstraintViolationIsRethrownTest() {
+        DataIntegrityViolationException violation = violation("bookings_booker_id_fkey");
+        when(bookingRepository.save(any())).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.addBooking(booker.getId(), request)));
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraint));
+    }
+}
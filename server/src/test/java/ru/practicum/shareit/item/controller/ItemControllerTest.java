@@ -226,4 +226,29 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.text", is(commentDtoResponse.getText()), String.class))
                 .andExpect(jsonPath("$.authorName", is(commentDtoResponse.getAuthorName()), String.class));
     }
+
+    @Test
+    void getAvailabilityTest() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(from.plusDays(3))
+                .granularity(AvailabilityGranularity.DAY)
+                .occupancy("010")
+                .free(List.of(new AvailabilitySlotDto(from, from.plusDays(1)),
+                        new AvailabilitySlotDto(from.plusDays(2), from.plusDays(3))))
+                .build();
+        when(itemService.getAvailability(1L, 1L, from, from.plusDays(3), "DAY"))
+                .thenReturn(availability);
+
+        mockMvc.perform(get("/items/{id}/availability", 1L)
+                        .header("X-Sharer-User-Id", "1")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-04T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.occupancy", is("010")))
+                .andExpect(jsonPath("$.granularity", is("DAY")))
+                .andExpect(jsonPath("$.free.length()", is(2)));
+    }
 }
@@ -4,19 +4,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
@@ -25,6 +26,8 @@ class ItemRepositoryTest {
     ItemRepository itemRepository;
     @Autowired
     UserRepository userRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
     User user;
 
     @BeforeEach
@@ -57,25 +60,6 @@ class ItemRepositoryTest {
         assertEquals(2, itemList.size());
     }
 
-    @Test
-    void searchItemsByTextTest() {
-        Pageable pageable = PageRequest.of(0, 10, Sort.unsorted());
-        List<Item> itemList =
-                itemRepository.findByNameOrDescription("it", pageable).getContent();
-
-        assertNotNull(itemList);
-        assertEquals(2, itemList.size());
-    }
-
-    @Test
-    public void getAllItemsWithBlankTextShouldReturnEmptyListTest() {
-        String text = "text";
-        Pageable page = PageRequest.of(0, 10);
-
-        Page<Item> actualResult = itemRepository.findByNameOrDescription(text, page);
-        assertEquals(List.of(), actualResult.getContent());
-    }
-
     @Test
     public void findByRequestIdInTest() {
         List<Item> actualResult = itemRepository.findByRequestIdIn(List.of(user.getId()));
@@ -85,16 +69,33 @@ class ItemRepositoryTest {
     }
 
     @Test
-    public void findAllByRequestIdTest() {
+    public void findIdsByOwnerOrRequesterTest() {
+        User other = userRepository.save(User.builder()
+                .name("userName2")
+                .email("other@mail.ru")
+                .build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requester(user)
+                .created(LocalDateTime.now())
+                .build());
+        Item answer = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("drill")
+                .available(true)
+                .owner(other)
+                .request(request)
+                .build());
         itemRepository.save(Item.builder()
-                .name("Banana")
-                .description("banana")
+                .name("Saw")
+                .description("saw")
                 .available(true)
-                .owner(user)
+                .owner(other)
                 .build());
-        List<Item> actualResult = itemRepository.findAllByRequestId(user.getId());
 
-        assertNotNull(actualResult);
-        assertEquals(0, actualResult.size());
+        List<Long> ids = itemRepository.findIdsByOwnerOrRequester(user.getId());
+
+        assertEquals(3, ids.size());
+        assertTrue(ids.contains(answer.getId()));
     }
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemSearchOfTextDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAllForSearch()).thenReturn(List.of(
+                new ItemSearchOfTextDto(1L, "Дрель", "Аккумуляторная дрель", true),
+                new ItemSearchOfTextDto(2L, "Отвертка", "Отвертка аккумуляторная", true),
+                new ItemSearchOfTextDto(3L, "Аккумулятор", "Для машины", false),
+                new ItemSearchOfTextDto(4L, "Пила", "Бензопила", true)));
+        index = new ItemSearchIndex(itemRepository);
+        index.warmUp();
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndSkipsUnavailableTest() {
+        List<ItemSearchOfTextDto> result = index.search("аККумУл", 0, 10);
+
+        assertEquals(List.of(1L, 2L), result.stream().map(ItemSearchOfTextDto::getId).toList());
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        List<ItemSearchOfTextDto> result = index.search("пила", 0, 10);
+
+        assertEquals(4L, result.get(0).getId());
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void searchShortQueryAndPagingTest() {
+        assertEquals(List.of(1L), index.search("др", 0, 10).stream().map(ItemSearchOfTextDto::getId).toList());
+        assertEquals(List.of(4L), index.search("П", 0, 10).stream().map(ItemSearchOfTextDto::getId).toList());
+        assertTrue(index.search("щъ", 0, 10).isEmpty());
+        assertEquals(List.of(1L), index.search("аккум", 0, 1).stream().map(ItemSearchOfTextDto::getId).toList());
+        assertEquals(List.of(2L), index.search("аккум", 1, 1).stream().map(ItemSearchOfTextDto::getId).toList());
+    }
+
+    @Test
+    void putReplacesDocumentTest() {
+        index.put(new ItemSearchOfTextDto(4L, "Лобзик", "Электрический", true));
+
+        assertEquals(0, index.search("пила", 0, 10).size());
+        assertEquals(4L, index.search("лобзик", 0, 10).get(0).getId());
+    }
+
+    @Test
+    void removeDropsDocumentsTest() {
+        index.remove(List.of(1L, 2L));
+
+        assertTrue(index.search("аккум", 0, 10).isEmpty());
+        assertEquals(List.of(4L), index.search("пила", 0, 10).stream().map(ItemSearchOfTextDto::getId).toList());
+    }
+}
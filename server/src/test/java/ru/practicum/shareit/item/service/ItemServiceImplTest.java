@@ -7,10 +7,16 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingForResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.services.BookingService;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -26,6 +32,8 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.services.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +52,7 @@ class ItemServiceImplTest {
     LocalDateTime now = LocalDateTime.now();
     private final ItemService itemService;
     private final UserService userService;
+    private final BookingService bookingService;
 
     @Test
     void getItemWithBookingAndCommentTest() {
@@ -169,4 +178,71 @@ class ItemServiceImplTest {
         ObjectNotFoundException ex = assertThrows(ObjectNotFoundException.class, () -> itemService.getAllItemsUser(ownerId, from, size));
         assertEquals("Пользователь с ID 1 не зарегистрирован!", ex.getMessage());
     }
+
+    @Test
+    public void searchUpdatesWithItemTest() {
+        UserDto owner = userService.createUser(new UserDto(null, "name", "mail@gmail.com"));
+        ItemDtoResponse item = itemService.addItem(owner.getId(), ItemDtoRequest.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+
+        assertEquals(item.getId(), itemService.getSearchOfText("дрЕль", 0, 10).get(0).getId());
+
+        itemService.updateItem(owner.getId(), item.getId(), ItemDtoRequest.builder().available(false).build());
+
+        assertTrue(itemService.getSearchOfText("дрель", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void availabilityFollowsBookingStatusTest() {
+        UserDto owner = userService.createUser(new UserDto(null, "owner", "owner@gmail.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "booker", "booker@gmail.com"));
+        ItemDtoResponse item = itemService.addItem(owner.getId(), ItemDtoRequest.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+        LocalDateTime from = now.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        BookingForResponse booking = bookingService.addBooking(booker.getId(), BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(from.plusHours(2).plusMinutes(30))
+                .end(from.plusHours(4))
+                .build());
+
+        ItemAvailabilityDto hours = itemService.getAvailability(booker.getId(), item.getId(), from,
+                from.plusHours(6), "hour");
+
+        assertEquals("001100", hours.getOccupancy());
+        assertEquals(List.of(new AvailabilitySlotDto(from, from.plusHours(2)),
+                new AvailabilitySlotDto(from.plusHours(4), from.plusHours(6))), hours.getFree());
+
+        ItemAvailabilityDto days = itemService.getAvailability(booker.getId(), item.getId(), from.minusDays(1),
+                from.plusDays(2), "DAY");
+
+        assertEquals("010", days.getOccupancy());
+
+        bookingService.updateBooking(booking.getId(), owner.getId(), false);
+
+        assertEquals("000000", itemService.getAvailability(booker.getId(), item.getId(), from,
+                from.plusHours(6), "HOUR").getOccupancy());
+    }
+
+    @Test
+    public void availabilityRejectsInvalidPeriodTest() {
+        UserDto owner = userService.createUser(new UserDto(null, "owner", "owner@gmail.com"));
+        ItemDtoResponse item = itemService.addItem(owner.getId(), ItemDtoRequest.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(owner.getId(), item.getId(),
+                now, now.minusDays(1), "DAY"));
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(owner.getId(), item.getId(),
+                now, now.plusYears(2), "HOUR"));
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(owner.getId(), item.getId(),
+                now, now.plusDays(1), "WEEK"));
+    }
 }
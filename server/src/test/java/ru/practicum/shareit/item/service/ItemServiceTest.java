@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -7,11 +8,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingLastAndNextView;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
@@ -22,9 +20,11 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.services.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -37,6 +37,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -54,6 +55,10 @@ public class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private UserCache userCache;
 
     private final User owner = User.builder()
             .id(1L)
@@ -68,6 +73,11 @@ public class ItemServiceTest {
             .owner(owner)
             .build();
 
+    @BeforeEach
+    void setUp() {
+        when(userCache.get(anyLong())).thenAnswer(invocation -> userRepository.findById(invocation.getArgument(0)));
+    }
+
     @Test
     void addItemValidAddTest() {
         Long ownerId = 1L;
@@ -89,15 +99,6 @@ public class ItemServiceTest {
         assertNull(result.getRequestId());
     }
 
-    @Test
-    public void getAllItemsWithBlankTextShouldReturnEmptyListTest() {
-        String text = "";
-        Pageable page = PageRequest.of(0, 10);
-        Page<Item> actualResult = itemRepository.findByNameOrDescription(text, page);
-
-        assertNull(actualResult);
-    }
-
     @Test
     void findItemByIdTest() {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
@@ -182,8 +183,6 @@ public class ItemServiceTest {
                         null)));
         when(commentRepository.findByItemIn(anyList(),
                 any(Sort.class))).thenReturn(Collections.emptyList());
-        when(bookingRepository.findByItemInAndStatus(anyList(),
-                eq(Status.APPROVED), any(Sort.class))).thenReturn(Collections.emptyList());
 
         ItemForBookingDto result = itemService.getItemDto(userId, itemId);
 
@@ -280,49 +279,27 @@ public class ItemServiceTest {
     }
 
     @Test
-    public void addBookingAndCommentTest() {
-        User owner = new User(1L,
-                "test@gmail.com",
-                "Tester");
-        Item item = Item.builder()
-                .id(1L)
-                .name("Doll")
-                .description("Barbie")
-                .owner(owner)
-                .build();
-        List<Comment> comments = List.of(
-                new Comment(1L, "Coll", item, owner, LocalDateTime.now()),
-                new Comment(2L, "Fine", item, owner, LocalDateTime.now())
-        );
-        List<Booking> bookings = List.of(
-                new Booking(1L,
-                        LocalDateTime.now().minusDays(2),
-                        LocalDateTime.now().minusDays(1),
-                        item,
-                        owner,
-                        Status.APPROVED),
-                new Booking(2L,
-                        LocalDateTime.now().plusDays(1),
-                        LocalDateTime.now().plusDays(2),
-                        item,
-                        owner,
-                        Status.APPROVED)
-        );
-        LocalDateTime now = LocalDateTime.now();
-
-        ItemForBookingDto result = itemService.addBookingAndComment(item, 1L, comments, bookings, now);
-
-        assertNotNull(result);
-        assertEquals(item.getId(), result.getId());
-        assertEquals(item.getName(), result.getName());
-        assertEquals(item.getDescription(), result.getDescription());
-        assertNull(result.getAvailable());
-        assertNotNull(result.getLastBooking());
-        assertNotNull(result.getNextBooking());
-        assertNotNull(result.getComments());
-        assertEquals(comments.size(), result.getComments().size());
-        assertEquals(comments.get(0).getId(), result.getComments().get(0).getId());
-        assertEquals(comments.get(1).getId(), result.getComments().get(1).getId());
+    public void getItemByOwnerWithLastAndNextBookingTest() {
+        BookingLastAndNextView last = mock(BookingLastAndNextView.class);
+        when(last.getItemId()).thenReturn(item.getId());
+        when(last.getId()).thenReturn(1L);
+        when(last.getBookerId()).thenReturn(2L);
+        when(last.getPast()).thenReturn(true);
+        BookingLastAndNextView next = mock(BookingLastAndNextView.class);
+        when(next.getItemId()).thenReturn(item.getId());
+        when(next.getId()).thenReturn(3L);
+        when(next.getBookerId()).thenReturn(2L);
+        when(next.getPast()).thenReturn(false);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemIn(anyList(), any(Sort.class))).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastAndNextByItemIdIn(eq(List.of(item.getId())), eq(Status.APPROVED.name()),
+                any(LocalDateTime.class))).thenReturn(List.of(last, next));
+
+        ItemForBookingDto result = itemService.getItemDto(owner.getId(), item.getId());
+
+        assertEquals(1L, result.getLastBooking().getId());
+        assertEquals(3L, result.getNextBooking().getId());
+        assertEquals(2L, result.getNextBooking().getBookerId());
     }
 
     @Test
@@ -404,6 +381,14 @@ public class ItemServiceTest {
         assertEquals(List.of(), itemDtoList);
     }
 
+    @Test
+    void searchItemsByShortTextTest() {
+        ItemSearchOfTextDto drill = new ItemSearchOfTextDto(1L, "Дрель", "Аккумуляторная дрель", true);
+        when(itemSearchIndex.search("др", 0, 10)).thenReturn(List.of(drill));
+
+        assertEquals(List.of(drill), itemService.getSearchOfText("др", 0, 10));
+    }
+
     @Test
     public void addCommentAuthorNullThrowExceptionTest() {
         Long authorId = 5L;
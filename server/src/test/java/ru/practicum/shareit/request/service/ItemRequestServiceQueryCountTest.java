@@ -0,0 +1,112 @@
+package ru.practicum.shareit.request.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.services.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Transactional
+@SpringBootTest(
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestServiceQueryCountTest {
+    private final ItemRequestService itemRequestService;
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getItemRequestsByUserIdQueryCountDoesNotDependOnRequestCountTest() {
+        User few = createRequestsWithItems("few", 5);
+        User many = createRequestsWithItems("many", 500);
+
+        long fewQueries = countQueries(() -> itemRequestService.getItemRequestsByUserId(few.getId()), 5);
+        long manyQueries = countQueries(() -> itemRequestService.getItemRequestsByUserId(many.getId()), 500);
+
+        assertEquals(fewQueries, manyQueries);
+        assertTrue(manyQueries <= 3, "Запросов к БД: " + manyQueries);
+    }
+
+    @Test
+    void getAllItemRequestsQueryCountDoesNotDependOnRequestCountTest() {
+        createRequestsWithItems("requester", 500);
+        User observer = createRequestsWithItems("observer", 0);
+        itemRequestService.getAllItemRequests(observer.getId(), 0, 1);
+
+        long fewQueries = countQueries(() -> itemRequestService.getAllItemRequests(observer.getId(), 0, 5), 5);
+        long manyQueries = countQueries(() -> itemRequestService.getAllItemRequests(observer.getId(), 0, 250), 250);
+
+        assertEquals(fewQueries, manyQueries);
+        assertTrue(manyQueries <= 3, "Запросов к БД: " + manyQueries);
+    }
+
+    @Test
+    void getItemRequestUsesConstantQueryCountTest() {
+        User requester = createRequestsWithItems("single", 1);
+        Long requestId = em.createQuery("select ir.id from ItemRequest ir where ir.requester.id = ?1", Long.class)
+                .setParameter(1, requester.getId())
+                .getSingleResult();
+
+        long queries = countQueries(() -> List.of(itemRequestService.getItemRequest(requestId, requester.getId())), 1);
+
+        assertTrue(queries <= 3, "Запросов к БД: " + queries);
+    }
+
+    private long countQueries(Supplier<List<ItemRequestResponseDto>> call, int expectedSize) {
+        em.flush();
+        em.clear();
+        statistics.clear();
+        List<ItemRequestResponseDto> result = call.get();
+        long queries = statistics.getPrepareStatementCount();
+        assertEquals(expectedSize, result.size());
+        result.forEach(dto -> assertEquals(2, dto.getItems().size()));
+        return queries;
+    }
+
+    private User createRequestsWithItems(String name, int requestCount) {
+        User requester = new User(null, name, name + "@mail.ru");
+        em.persist(requester);
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User owner = new User(null, name + " owner " + i, name + ".owner" + i + "@mail.ru");
+            em.persist(owner);
+            owners.add(owner);
+        }
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < requestCount; i++) {
+            ItemRequest request = new ItemRequest(null, "request " + i, requester, created.minusMinutes(i), null);
+            em.persist(request);
+            for (int j = 0; j < 2; j++) {
+                em.persist(new Item(null, "item " + i + "." + j, "description", true,
+                        owners.get((i + j) % owners.size()), request));
+            }
+        }
+        return requester;
+    }
+}
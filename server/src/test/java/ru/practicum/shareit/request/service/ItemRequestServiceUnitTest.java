@@ -23,6 +23,7 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.services.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserForItemRequestDto;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -41,6 +42,7 @@ public class ItemRequestServiceUnitTest {
     private final ItemRequestRepository mockItemRequestRepository = Mockito.mock(ItemRequestRepository.class);
     private final UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
     private final ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
+    private final UserCache mockUserCache = Mockito.mock(UserCache.class);
 
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
@@ -53,6 +55,10 @@ public class ItemRequestServiceUnitTest {
 
     @BeforeEach
     void toStart() {
+        when(mockUserCache.get(anyLong()))
+                .thenAnswer(invocation -> mockUserRepository.findById(invocation.getArgument(0)));
+        when(mockUserCache.exists(anyLong()))
+                .thenAnswer(invocation -> mockUserRepository.existsById(invocation.getArgument(0)));
         user = User.builder()
                 .id(1L)
                 .name("userName1")
@@ -95,7 +101,7 @@ public class ItemRequestServiceUnitTest {
     void getRequestInformationWrongRequestTest() {
         when(mockUserRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(mockItemRequestRepository.findById(anyLong()))
+        when(mockItemRequestRepository.findWithRequesterById(anyLong()))
                 .thenReturn(Optional.empty());
 
         ObjectNotFoundException ex = assertThrows(ObjectNotFoundException.class, () -> itemRequestService.getItemRequest(1L, user.getId()));
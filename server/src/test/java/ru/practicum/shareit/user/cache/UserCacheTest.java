@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+public class UserCacheTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void secondLookupIsServedFromCacheTest() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User(1L, "Alena", "alena@gmail.com")));
+
+        Assertions.assertTrue(userCache.exists(1L));
+        Assertions.assertEquals("Alena", userCache.get(1L).orElseThrow().getName());
+
+        verify(userRepository, times(1)).findById(1L);
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void missingUserIsNotCachedTest() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        Assertions.assertFalse(userCache.exists(2L));
+        Assertions.assertFalse(userCache.exists(2L));
+
+        verify(userRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void changesOfReturnedUserDoNotLeakIntoCacheTest() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User(1L, "Alena", "alena@gmail.com")));
+
+        userCache.get(1L).orElseThrow().setName("Changed");
+
+        Assertions.assertEquals("Alena", userCache.get(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void invalidateReloadsUserTest() {
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(new User(1L, "Alena", "alena@gmail.com")))
+                .thenReturn(Optional.of(new User(1L, "Nasty", "alena@gmail.com")));
+
+        userCache.get(1L);
+        userCache.invalidate(1L);
+
+        Assertions.assertEquals("Nasty", userCache.get(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void loadRacingWithInvalidateIsNotKeptTest() {
+        when(userRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    // пользователь изменён и вытеснен, пока шёл запрос со старым состоянием
+                    userCache.invalidate(1L);
+                    return Optional.of(new User(1L, "Alena", "alena@gmail.com"));
+                })
+                .thenReturn(Optional.of(new User(1L, "Nasty", "alena@gmail.com")));
+
+        Assertions.assertEquals("Alena", userCache.get(1L).orElseThrow().getName());
+
+        Assertions.assertEquals("Nasty", userCache.get(1L).orElseThrow().getName());
+    }
+}
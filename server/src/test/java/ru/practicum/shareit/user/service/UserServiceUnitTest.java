@@ -1,12 +1,21 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -31,6 +40,16 @@ public class UserServiceUnitTest {
     private UserServiceImpl userService;
     @Mock
     private UserRepository repository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
 
     private final User user = new User(1L, "Alena", "alena@mail.ru");
     private final UserDto userDtoRequest = new UserDto(1L, "Alena", "alena@mail.ru");
@@ -89,10 +108,45 @@ public class UserServiceUnitTest {
 
     @Test
     public void deleteUserTest() {
+        mockSecondLevelCache();
         userService.deleteUser(anyLong());
         verify(repository, times(1)).deleteById(anyLong());
     }
 
+    @Test
+    public void updateAndDeleteUserInvalidateCacheTest() {
+        when(repository.findById(1L)).thenReturn(Optional.of(user));
+        when(repository.save(any())).thenReturn(user);
+        mockSecondLevelCache();
+
+        userService.updateUser(1L, new UserDto(null, "Alena2", null));
+        userService.deleteUser(2L);
+
+        verify(userCache).invalidate(1L);
+        verify(userCache).invalidate(2L);
+    }
+
+    @Test
+    public void deleteUserRemovesCascadedItemsFromSearchTest() {
+        when(itemRepository.findIdsByOwnerOrRequester(2L)).thenReturn(List.of(5L, 7L));
+        mockSecondLevelCache();
+
+        userService.deleteUser(2L);
+
+        verify(itemSearchIndex).remove(List.of(5L, 7L));
+    }
+
+    @Test
+    public void deleteUserEvictsCascadedEntitiesTest() {
+        Cache cache = mockSecondLevelCache();
+
+        userService.deleteUser(2L);
+
+        verify(cache).evictEntityData(Item.class);
+        verify(cache).evictEntityData(ItemRequest.class);
+        verify(cache).evictQueryRegions();
+    }
+
     @Test
     public void testToUserDto() {
         User user = new User(1L, "Sasha", "Sasha@gmail.com");
@@ -107,4 +161,12 @@ public class UserServiceUnitTest {
         assertEquals("Nasty", user2.getName());
         assertEquals("nasty@yandex.ru", user2.getEmail());
     }
+
+    private Cache mockSecondLevelCache() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        return cache;
+    }
 }